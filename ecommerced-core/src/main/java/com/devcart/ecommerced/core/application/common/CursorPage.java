@@ -0,0 +1,33 @@
+package com.devcart.ecommerced.core.application.common;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated result.
+ * The cursor is opaque to callers: it is produced by the repository that returned the page and only
+ * passed back to it, in a {@link CursorPageRequest}, to read the next page.
+ *
+ * @param items      the items of the page, in the order defined by the query
+ * @param nextCursor the cursor of the next page, or null if this is the last page
+ * @param <T>        the item type
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public CursorPage {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Creates the last page of a result.
+     */
+    public static <T> CursorPage<T> last(List<T> items) {
+        return new CursorPage<>(items, null);
+    }
+
+    /**
+     * Checks if there is a page after this one.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
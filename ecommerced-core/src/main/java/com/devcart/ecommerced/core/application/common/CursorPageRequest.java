@@ -0,0 +1,31 @@
+package com.devcart.ecommerced.core.application.common;
+
+/**
+ * Request for one page of a cursor-paginated result.
+ * Repositories may serve fewer items than requested if the size exceeds their page-size cap.
+ *
+ * @param cursor the cursor returned with the previous page, or null for the first page
+ * @param size   the maximum number of items to return
+ */
+public record CursorPageRequest(String cursor, int size) {
+
+    public CursorPageRequest {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+    }
+
+    /**
+     * Creates a request for the first page.
+     */
+    public static CursorPageRequest first(int size) {
+        return new CursorPageRequest(null, size);
+    }
+
+    /**
+     * Creates a request for the page after the given cursor.
+     */
+    public static CursorPageRequest after(String cursor, int size) {
+        return new CursorPageRequest(cursor, size);
+    }
+}
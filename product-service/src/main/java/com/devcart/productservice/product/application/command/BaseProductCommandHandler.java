@@ -3,6 +3,9 @@ package com.devcart.productservice.product.application.command;
 import com.devcart.ecommerced.core.application.common.Result;
 import com.devcart.productservice.product.application.port.out.ProductRepository;
 import com.devcart.productservice.product.domain.Product;
+import com.devcart.productservice.product.domain.ProductVariant;
+import com.devcart.productservice.product.domain.valueobject.ProductId;
+import com.devcart.productservice.product.domain.valueobject.ProductVariantId;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Optional;
@@ -34,6 +37,39 @@ public abstract class BaseProductCommandHandler {
         return Result.success(productResult.getValue().get());
     }
 
+    /**
+     * Finds a single variant of a product with validation, without loading the rest of the product.
+     *
+     * @param productId the product ID
+     * @param variantId the variant ID
+     * @return Result containing the ProductVariant if found, or failure message if not found or error occurred
+     */
+    protected Result<ProductVariant> getVariantById(UUID productId, UUID variantId) {
+        Result<Optional<ProductVariant>> variantResult =
+                productRepository.findVariant(ProductId.of(productId), ProductVariantId.of(variantId));
+        if (variantResult.isFailure()) {
+            return Result.failure(variantResult.getError());
+        }
+        if (variantResult.getValue().isEmpty()) {
+            return Result.failure("Variant not found: " + variantId);
+        }
+        return Result.success(variantResult.getValue().get());
+    }
+
+    /**
+     * Saves a variant loaded with getVariantById and converts the result to void.
+     *
+     * @param variant the variant to save
+     * @return Result<Void> indicating success or failure
+     */
+    protected Result<Void> saveVariantAsVoid(ProductVariant variant) {
+        Result<ProductVariant> saveResult = productRepository.saveVariant(variant);
+        if (saveResult.isFailure()) {
+            return Result.failure(saveResult.getError());
+        }
+        return Result.success();
+    }
+
     /**
      * Saves a product and converts the result to void.
      * Helper method for handlers that return Result<Void>.
@@ -4,8 +4,7 @@ import com.devcart.ecommerced.core.application.common.Result;
 import com.devcart.ecommerced.core.application.port.in.CommandHandler;
 import com.devcart.ecommerced.core.domain.shared.Money;
 import com.devcart.productservice.product.application.port.out.ProductRepository;
-import com.devcart.productservice.product.domain.Product;
-import com.devcart.productservice.product.domain.valueobject.ProductVariantId;
+import com.devcart.productservice.product.domain.ProductVariant;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,21 +22,16 @@ public class ChangeProductVariantPriceCommandHandler extends BaseProductCommandH
     @Transactional
     public Result<Void> handle(ChangeProductVariantPriceCommand command) {
         try {
-            // Find product using base class method
-            var productResult = getProductById(command.productId());
-            if (productResult.isFailure()) {
-                return Result.failure(productResult.getError());
+            // Only the variant is loaded and written; the change does not involve the rest of the product
+            var variantResult = getVariantById(command.productId(), command.variantId());
+            if (variantResult.isFailure()) {
+                return Result.failure(variantResult.getError());
             }
 
-            Product product = productResult.getValue();
-            product.changeVariantPrice(ProductVariantId.of(command.variantId()), new Money(command.price(), Currency.getInstance(command.currency())));
+            ProductVariant variant = variantResult.getValue();
+            variant.changePrice(new Money(command.price(), Currency.getInstance(command.currency())));
 
-            Result<Product> saveResult = productRepository.save(product);
-            if (saveResult.isFailure()) {
-                return Result.failure(saveResult.getError());
-            }
-
-            return Result.success();
+            return saveVariantAsVoid(variant);
         } catch (Exception e) {
             return Result.failure("Failed to change product variant price: " + e.getMessage());
         }
@@ -3,8 +3,7 @@ package com.devcart.productservice.product.application.command;
 import com.devcart.ecommerced.core.application.common.Result;
 import com.devcart.ecommerced.core.application.port.in.CommandHandler;
 import com.devcart.productservice.product.application.port.out.ProductRepository;
-import com.devcart.productservice.product.domain.Product;
-import com.devcart.productservice.product.domain.valueobject.ProductVariantId;
+import com.devcart.productservice.product.domain.ProductVariant;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,15 +19,16 @@ public class DeactivateProductVariantCommandHandler extends BaseProductCommandHa
     @Transactional
     public Result<Void> handle(DeactivateProductVariantCommand command) {
         try {
-            var productResult = getProductById(command.productId());
-            if (productResult.isFailure()) {
-                return Result.failure(productResult.getError());
+            // Only the variant is loaded and written; the change does not involve the rest of the product
+            var variantResult = getVariantById(command.productId(), command.variantId());
+            if (variantResult.isFailure()) {
+                return Result.failure(variantResult.getError());
             }
 
-            Product product = productResult.getValue();
-            product.deactivateVariant(ProductVariantId.of(command.variantId()));
+            ProductVariant variant = variantResult.getValue();
+            variant.deactivate();
 
-            return saveProductAsVoid(product);
+            return saveVariantAsVoid(variant);
 
         } catch (Exception e) {
             return Result.failure("Failed to deactivate product variant: " + e.getMessage());
@@ -1,18 +1,24 @@
 package com.devcart.productservice.product.application.port.out;
 
+import com.devcart.ecommerced.core.application.common.CursorPage;
+import com.devcart.ecommerced.core.application.common.CursorPageRequest;
 import com.devcart.ecommerced.core.application.common.Result;
 import com.devcart.ecommerced.core.application.port.out.Repository;
 import com.devcart.productservice.product.domain.Product;
+import com.devcart.productservice.product.domain.ProductVariant;
 import com.devcart.productservice.product.domain.valueobject.ProductId;
 import com.devcart.productservice.product.domain.valueobject.ProductTag;
+import com.devcart.productservice.product.domain.valueobject.ProductVariantId;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for Product aggregate.
+ * List queries are cursor-paginated, newest products first; each page is read with a bounded seek,
+ * so reading deep into a large result costs the same as reading its first page.
  */
 public interface ProductRepository extends Repository<Product> {
 
@@ -22,34 +28,63 @@ public interface ProductRepository extends Repository<Product> {
     Result<Optional<Product>> findByProductId(ProductId productId);
 
     /**
-     * Finds all products in a specific category.
+     * Finds one variant of a product without loading the rest of the product.
+     * For changes that only concern the variant itself, such as its price or status.
      */
-    Result<List<Product>> findByCategoryId(UUID categoryId);
+    Result<Optional<ProductVariant>> findVariant(ProductId productId, ProductVariantId variantId);
 
     /**
-     * Finds all products that contain a specific tag.
+     * Saves a variant loaded with {@link #findVariant(ProductId, ProductVariantId)}, together with the domain events
+     * it recorded, without loading the rest of its product. The product's update time is set as well,
+     * as when the variant is changed through the product.
      */
-    Result<List<Product>> findByTag(ProductTag tag);
+    Result<ProductVariant> saveVariant(ProductVariant variant);
 
     /**
-     * Finds all products that contain any of the specified categories.
+     * Finds a page of the products in a specific category.
      */
-    Result<List<Product>> findByCategoryIdsIn(Set<UUID> categoryIds);
+    Result<CursorPage<Product>> findByCategoryId(UUID categoryId, CursorPageRequest page);
 
     /**
-     * Finds all products that contain any of the specified tags.
+     * Finds a page of the products that contain a specific tag.
      */
-    Result<List<Product>> findByTagsIn(Set<ProductTag> tags);
+    Result<CursorPage<Product>> findByTag(ProductTag tag, CursorPageRequest page);
 
     /**
-     * Finds all active products.
+     * Finds a page of the products that contain any of the specified categories.
      */
-    Result<List<Product>> findAllActive();
+    Result<CursorPage<Product>> findByCategoryIdsIn(Set<UUID> categoryIds, CursorPageRequest page);
 
     /**
-     * Finds products by name containing the given text.
+     * Finds a page of the products that contain any of the specified tags.
      */
-    Result<List<Product>> findByNameContaining(String name);
+    Result<CursorPage<Product>> findByTagsIn(Set<ProductTag> tags, CursorPageRequest page);
+
+    /**
+     * Finds a page of the active products.
+     */
+    Result<CursorPage<Product>> findAllActive(CursorPageRequest page);
+
+    /**
+     * Finds a page of the products whose name contains the given text.
+     */
+    Result<CursorPage<Product>> findByNameContaining(String name, CursorPageRequest page);
+
+    /**
+     * Passes every product to the consumer, newest first, for jobs that walk the whole catalog.
+     * Products are read in chunks and released after each chunk, so memory use does not depend on the catalog size.
+     * The consumer runs inside the read-only transaction of its chunk, so it must not save products itself.
+     *
+     * @return the number of products passed to the consumer
+     */
+    Result<Long> scanAll(Consumer<Product> consumer);
+
+    /**
+     * Passes every active product to the consumer, newest first, like {@link #scanAll(Consumer)}.
+     *
+     * @return the number of products passed to the consumer
+     */
+    Result<Long> scanAllActive(Consumer<Product> consumer);
 
     /**
      * Counts total number of products.
@@ -179,10 +179,9 @@ public class Product extends AggregateRoot {
         ProductVariant variant = findVariantById(variantId);
         businessRequire(variant != null, "Variant not found: " + variantId.getValue());
 
-        Money oldPrice = variant.getPrice();
         variant.changePrice(newPrice);
         markAsUpdated();
-        publishEvent(new ProductVariantPriceChangedEvent(ProductId.of(getId()), variantId, oldPrice, newPrice));
+        publishVariantEvents(variant);
     }
 
     /**
@@ -196,7 +195,7 @@ public class Product extends AggregateRoot {
 
         variant.activate();
         markAsUpdated();
-        publishEvent(new ProductVariantActivatedEvent(ProductId.of(getId()), variantId));
+        publishVariantEvents(variant);
     }
 
     /**
@@ -210,7 +209,7 @@ public class Product extends AggregateRoot {
 
         variant.deactivate();
         markAsUpdated();
-        publishEvent(new ProductVariantDeactivatedEvent(ProductId.of(getId()), variantId));
+        publishVariantEvents(variant);
     }
 
     /**
@@ -228,6 +227,14 @@ public class Product extends AggregateRoot {
         publishEvent(new ProductVariantDeletedEvent(ProductId.of(getId()), variantId));
     }
 
+    /**
+     * Moves the events recorded by a variant to this aggregate's events.
+     */
+    private void publishVariantEvents(ProductVariant variant) {
+        variant.getDomainEvents().forEach(this::publishEvent);
+        variant.clearDomainEvents();
+    }
+
     // Category Management
 
     /**
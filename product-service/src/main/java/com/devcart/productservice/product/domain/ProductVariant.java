@@ -2,6 +2,9 @@ package com.devcart.productservice.product.domain;
 
 import com.devcart.ecommerced.core.domain.common.Entity;
 import com.devcart.ecommerced.core.domain.shared.Money;
+import com.devcart.productservice.product.domain.event.ProductVariantActivatedEvent;
+import com.devcart.productservice.product.domain.event.ProductVariantDeactivatedEvent;
+import com.devcart.productservice.product.domain.event.ProductVariantPriceChangedEvent;
 import com.devcart.productservice.product.domain.valueobject.*;
 import lombok.Getter;
 
@@ -10,6 +13,8 @@ import java.time.LocalDateTime;
 /**
  * Product variant entity representing a specific variation of a product.
  * This is not an aggregate root - it's part of the Product aggregate.
+ * Price and status changes record their events on the variant: {@link Product} moves them to its own events,
+ * and the variant-level write path, which loads a variant without its product, saves them with the variant.
  */
 @Getter
 public class ProductVariant extends Entity {
@@ -74,9 +79,12 @@ public class ProductVariant extends Entity {
      * Changes the variant's price.
      */
     public void changePrice(Money newPrice) {
+        Money oldPrice = this.price;
         this.price = newPrice;
         markAsUpdated();
         validate();
+        addDomainEvent(new ProductVariantPriceChangedEvent(productId, ProductVariantId.of(getId()),
+                oldPrice, newPrice));
     }
 
     /**
@@ -87,6 +95,7 @@ public class ProductVariant extends Entity {
             this.active = true;
             markAsUpdated();
         }
+        addDomainEvent(new ProductVariantActivatedEvent(productId, ProductVariantId.of(getId())));
     }
 
     /**
@@ -97,6 +106,7 @@ public class ProductVariant extends Entity {
             this.active = false;
             markAsUpdated();
         }
+        addDomainEvent(new ProductVariantDeactivatedEvent(productId, ProductVariantId.of(getId())));
     }
 
     // Query Methods
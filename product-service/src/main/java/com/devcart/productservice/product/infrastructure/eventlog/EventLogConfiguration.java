@@ -0,0 +1,29 @@
+package com.devcart.productservice.product.infrastructure.eventlog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuration of the embedded event log, a local alternative to Kafka for running without a broker.
+ * Enabled with outbox.event-log.enabled=true (see the no-kafka profile).
+ */
+@Configuration
+@ConditionalOnProperty(name = "outbox.event-log.enabled", havingValue = "true")
+public class EventLogConfiguration {
+
+    /**
+     * Opens the event log for appending; it is forced to disk and closed on shutdown.
+     */
+    @Bean(destroyMethod = "close")
+    public MappedEventLog mappedEventLog(@Value("${outbox.event-log.directory:./data/event-log}") Path directory,
+                                         @Value("${outbox.event-log.segment-bytes:67108864}") int segmentBytes,
+                                         @Value("${outbox.event-log.force-on-append:false}") boolean forceOnAppend)
+            throws IOException {
+        return MappedEventLog.openWriter(directory, segmentBytes, forceOnAppend);
+    }
+}
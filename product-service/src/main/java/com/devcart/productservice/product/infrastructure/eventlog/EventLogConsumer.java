@@ -0,0 +1,105 @@
+package com.devcart.productservice.product.infrastructure.eventlog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * Named reader of a MappedEventLog with a persisted offset.
+ * The offset is only persisted by {@link #commit()}, so records polled but not committed are
+ * delivered again after a restart (at-least-once). Instances are not thread-safe.
+ * <p>
+ * Committed offsets also bound retention: segments are only deleted as consumed once every consumer
+ * has committed past them.
+ */
+public class EventLogConsumer {
+
+    private static final String OFFSET_SUFFIX = ".offset";
+
+    private final MappedEventLog eventLog;
+    private final String name;
+    private final Path offsetFile;
+    private long position;
+
+    EventLogConsumer(MappedEventLog eventLog, String name, Path offsetDirectory) throws IOException {
+        this.eventLog = eventLog;
+        this.name = name;
+        this.offsetFile = offsetDirectory.resolve(name + OFFSET_SUFFIX);
+        this.position = Files.exists(offsetFile) ? readOffset(offsetFile) : 0L;
+    }
+
+    /**
+     * Returns the lowest offset committed by the consumers in the given directory.
+     *
+     * @return The offset, or empty if the directory holds no committed offsets
+     */
+    static OptionalLong minCommittedOffset(Path offsetDirectory) throws IOException {
+        if (!Files.isDirectory(offsetDirectory)) {
+            return OptionalLong.empty();
+        }
+        try (Stream<Path> files = Files.list(offsetDirectory)) {
+            OptionalLong min = OptionalLong.empty();
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(OFFSET_SUFFIX)).toList()) {
+                long offset = readOffset(file);
+                min = min.isPresent() && min.getAsLong() <= offset ? min : OptionalLong.of(offset);
+            }
+            return min;
+        }
+    }
+
+    private static long readOffset(Path offsetFile) throws IOException {
+        return Long.parseLong(Files.readString(offsetFile, StandardCharsets.UTF_8).trim());
+    }
+
+    /**
+     * Returns up to maxRecords records after the last polled one.
+     */
+    public List<EventLogRecord> poll(int maxRecords) {
+        List<EventLogRecord> records = eventLog.read(position, maxRecords);
+        if (!records.isEmpty()) {
+            position = records.getLast().offset() + 1;
+        }
+        return records;
+    }
+
+    /**
+     * Persists the current position, atomically replacing the previous one.
+     */
+    public void commit() throws IOException {
+        Files.createDirectories(offsetFile.getParent());
+        Path tempFile = offsetFile.resolveSibling(name + OFFSET_SUFFIX + ".tmp");
+        Files.writeString(tempFile, Long.toString(position), StandardCharsets.UTF_8);
+        Files.move(tempFile, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Moves the consumer to the given offset; takes effect on the next poll.
+     */
+    public void seek(long offset) {
+        this.position = offset;
+    }
+
+    /**
+     * Returns the offset of the next record this consumer will poll.
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Returns the number of appended records this consumer has not polled yet.
+     * Only meaningful on the appending instance of the log.
+     */
+    public long lag() {
+        return Math.max(0, eventLog.endOffset() - position);
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,54 @@
+package com.devcart.productservice.product.infrastructure.eventlog;
+
+import com.devcart.ecommerced.core.application.common.Result;
+import com.devcart.ecommerced.core.application.port.out.DomainEventPublisher;
+import com.devcart.ecommerced.core.domain.common.DomainEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * DomainEventPublisher adapter appending events to the embedded event log.
+ * Events are keyed by aggregate ID and typed by their class name, the same way the outbox stores them.
+ * <p>
+ * product-service itself does not use this adapter: its events go through the outbox and reach the log via
+ * EventLogOutboxTransport. It is provided for code that publishes to the log directly, such as other services
+ * embedding the log or tests, and bypasses the outbox's transactional guarantees.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.event-log.enabled", havingValue = "true")
+public class EventLogDomainEventPublisher implements DomainEventPublisher {
+
+    private final MappedEventLog eventLog;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Result<Void> publish(DomainEvent event) {
+        try {
+            eventLog.append(event.getAggregateId().toString(), event.getClass().getName(),
+                    objectMapper.writeValueAsBytes(event));
+            return Result.success();
+        } catch (Exception e) {
+            log.error("Failed to append domain event to the event log: eventId={}, eventType={}",
+                    event.getEventId(), event.getEventType(), e);
+            return Result.failure("Failed to publish event: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<Void> publishAll(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            Result<Void> result = publish(event);
+            if (result.isFailure()) {
+                return result;
+            }
+        }
+        return Result.success();
+    }
+}
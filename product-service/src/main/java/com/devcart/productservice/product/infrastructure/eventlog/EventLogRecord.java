@@ -0,0 +1,12 @@
+package com.devcart.productservice.product.infrastructure.eventlog;
+
+/**
+ * A record read from the MappedEventLog.
+ *
+ * @param offset  Position of the record in the log, starting at 0
+ * @param key     Record key, the aggregate ID for domain events
+ * @param type    Record type, the fully qualified event class for domain events
+ * @param payload Record payload
+ */
+public record EventLogRecord(long offset, String key, String type, byte[] payload) {
+}
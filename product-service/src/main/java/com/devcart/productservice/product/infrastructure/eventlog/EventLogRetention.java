@@ -0,0 +1,47 @@
+package com.devcart.productservice.product.infrastructure.eventlog;
+
+import com.devcart.productservice.product.infrastructure.outbox.config.OutboxConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes event log segments every consumer has committed past, and segments older than the retention
+ * period whether they were consumed or not, so the log does not grow without bound.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.event-log.enabled", havingValue = "true")
+public class EventLogRetention {
+
+    private final MappedEventLog eventLog;
+
+    @Value("${outbox.event-log.retention-days:7}")
+    private int retentionDays;
+
+    /**
+     * Deletes consumed and expired segments.
+     * Without any committed consumer only expired segments are deleted.
+     */
+    @Scheduled(fixedDelayString = "${outbox.event-log.retention-check-interval-ms:600000}",
+            scheduler = OutboxConfiguration.MAINTENANCE_SCHEDULER)
+    public void deleteOldSegments() {
+        try {
+            long consumedOffset = eventLog.minCommittedOffset().orElse(0L);
+            int deleted = eventLog.deleteSegments(consumedOffset, Instant.now().minus(Duration.ofDays(retentionDays)));
+            if (deleted > 0) {
+                log.info("Deleted {} event log segments: consumedOffset={}, startOffset={}",
+                        deleted, consumedOffset, eventLog.startOffset());
+            }
+        } catch (Exception e) {
+            log.error("Error deleting old event log segments", e);
+        }
+    }
+}
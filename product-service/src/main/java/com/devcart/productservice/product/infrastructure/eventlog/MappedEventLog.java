@@ -0,0 +1,489 @@
+package com.devcart.productservice.product.infrastructure.eventlog;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only event log stored in memory-mapped segment files on local disk.
+ * <p>
+ * Records get consecutive offsets starting at 0. Each segment file has a fixed size, is named after the
+ * offset of its first record and is mapped into memory as a whole, so appends and reads are plain memory
+ * accesses. A new segment is started when a record does not fit into the current one.
+ * <p>
+ * Record layout: {@code [int length][int crc][long offset][short keyLength][key][short typeLength][type][payload]}.
+ * The length covers everything after the length field and is written last, and the CRC32C covers everything after
+ * the crc field, so a reader never accepts a partially written record. A zero length marks the end of a segment.
+ * <p>
+ * One process appends; any number of threads or processes can read, the latter by opening the directory with
+ * {@link #openReader(Path)}. Consumers track their position with {@link EventLogConsumer}.
+ * <p>
+ * Old segments are removed with {@link #deleteSegments(long, Instant)}. Readers positioned before the first
+ * remaining segment continue at its first record.
+ */
+@Slf4j
+public class MappedEventLog implements AutoCloseable {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CONSUMER_DIRECTORY = "consumers";
+    private static final int FIXED_BODY_BYTES = Integer.BYTES + Long.BYTES + Short.BYTES + Short.BYTES;
+    private static final int INDEX_INTERVAL = 64;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean readOnly;
+    private final boolean forceOnAppend;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private Segment activeSegment;
+    private long nextOffset;
+    private long durableOffset;
+    private volatile long endOffset;
+
+    private MappedEventLog(Path directory, int segmentBytes, boolean readOnly, boolean forceOnAppend) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.readOnly = readOnly;
+        this.forceOnAppend = forceOnAppend;
+
+        if (!readOnly) {
+            Files.createDirectories(directory);
+        }
+        loadSegments();
+
+        if (!readOnly) {
+            recover();
+        }
+    }
+
+    /**
+     * Opens the log for appending, creating the directory if needed and recovering the end of the log.
+     *
+     * @param directory     Directory holding the segment files
+     * @param segmentBytes  Size of each segment file
+     * @param forceOnAppend Whether every append is forced to disk; otherwise appends survive process
+     *                      crashes but may be lost on an operating system crash until {@link #force()}
+     */
+    public static MappedEventLog openWriter(Path directory, int segmentBytes, boolean forceOnAppend) throws IOException {
+        return new MappedEventLog(directory, segmentBytes, false, forceOnAppend);
+    }
+
+    /**
+     * Opens a log written by another process for reading.
+     */
+    public static MappedEventLog openReader(Path directory) throws IOException {
+        return new MappedEventLog(directory, 0, true, false);
+    }
+
+    /**
+     * Appends a record and returns its offset.
+     *
+     * @throws IllegalArgumentException if the record does not fit into an empty segment, or its key or type
+     *                                  exceeds 32767 bytes
+     */
+    public synchronized long append(String key, String type, byte[] payload) {
+        if (readOnly) {
+            throw new IllegalStateException("Event log is open for reading only: " + directory);
+        }
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] typeBytes = type.getBytes(StandardCharsets.UTF_8);
+        // Key and type lengths are stored as shorts
+        if (keyBytes.length > Short.MAX_VALUE || typeBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Record key and type must not exceed " + Short.MAX_VALUE
+                    + " bytes: keyBytes=" + keyBytes.length + ", typeBytes=" + typeBytes.length);
+        }
+        int length = FIXED_BODY_BYTES + keyBytes.length + typeBytes.length + payload.length;
+        int recordBytes = Integer.BYTES + length;
+        // Keep room for the zero length that terminates the segment
+        if (recordBytes + Integer.BYTES > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + recordBytes + " bytes exceeds the segment size of "
+                    + segmentBytes + " bytes");
+        }
+        if (activeSegment.writePosition + recordBytes + Integer.BYTES > segmentBytes) {
+            roll();
+        }
+
+        long offset = nextOffset;
+        int position = activeSegment.writePosition;
+        ByteBuffer buffer = activeSegment.buffer.duplicate();
+        buffer.position(position + 2 * Integer.BYTES);
+        buffer.putLong(offset)
+                .putShort((short) keyBytes.length).put(keyBytes)
+                .putShort((short) typeBytes.length).put(typeBytes)
+                .put(payload);
+
+        CRC32C crc = new CRC32C();
+        crc.update(activeSegment.buffer.slice(position + 2 * Integer.BYTES, length - Integer.BYTES));
+        activeSegment.buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        activeSegment.buffer.putInt(position, length);
+
+        if (forceOnAppend) {
+            activeSegment.buffer.force(position, recordBytes);
+            activeSegment.forcedPosition = position + recordBytes;
+            durableOffset = offset + 1;
+        }
+        if ((offset - activeSegment.baseOffset) % INDEX_INTERVAL == 0) {
+            activeSegment.index.put(offset, position);
+        }
+        activeSegment.writePosition = position + recordBytes;
+        nextOffset = offset + 1;
+        endOffset = nextOffset;
+        return offset;
+    }
+
+    /**
+     * Reads up to maxRecords records starting at the given offset.
+     *
+     * @return The records in offset order; empty if no record at or after the offset has been written yet
+     */
+    public List<EventLogRecord> read(long fromOffset, int maxRecords) {
+        List<EventLogRecord> records = new ArrayList<>(Math.min(maxRecords, 1024));
+        long offset = fromOffset;
+        boolean refreshed = false;
+
+        while (records.size() < maxRecords) {
+            if (!readOnly && offset >= endOffset) {
+                break;
+            }
+            Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+            if (entry == null) {
+                // The records were deleted by retention; continue at the first remaining one
+                Long startOffset = segments.isEmpty() ? null : segments.firstKey();
+                if (startOffset == null || startOffset <= offset) {
+                    break;
+                }
+                offset = startOffset;
+                continue;
+            }
+
+            int readCount = entry.getValue().read(offset, maxRecords - records.size(), records);
+            if (readCount > 0) {
+                offset = records.getLast().offset() + 1;
+                continue;
+            }
+
+            // End of the last known segment; a reader picks up segments started since it last looked
+            if (!readOnly || refreshed || !refreshSegments(offset)) {
+                break;
+            }
+            refreshed = true;
+        }
+        return records;
+    }
+
+    /**
+     * Returns the offset of the first record that has not been deleted by retention.
+     */
+    public long startOffset() {
+        return segments.isEmpty() ? 0L : segments.firstKey();
+    }
+
+    /**
+     * Returns the offset the next appended record will get.
+     */
+    public long endOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Returns a consumer that reads the log from its committed offset.
+     *
+     * @param name Consumer name, used to persist the offset
+     */
+    public EventLogConsumer consumer(String name) throws IOException {
+        return new EventLogConsumer(this, name, directory.resolve(CONSUMER_DIRECTORY));
+    }
+
+    /**
+     * Returns the lowest offset committed by any consumer of the log, including consumers in other processes.
+     *
+     * @return The offset, or empty if no consumer has committed yet
+     */
+    public OptionalLong minCommittedOffset() throws IOException {
+        return EventLogConsumer.minCommittedOffset(directory.resolve(CONSUMER_DIRECTORY));
+    }
+
+    /**
+     * Deletes the oldest segments whose records are all below the given offset or that were last written
+     * before the given time, stopping at the first segment to keep. The active segment is never deleted.
+     * Deleted segments are closed and dropped, so their mapping is released once no reader holds it.
+     *
+     * @param belowOffset       Delete segments whose records are all below this offset
+     * @param lastWrittenBefore Delete segments last written before this time, consumed or not
+     * @return Number of deleted segments
+     */
+    public synchronized int deleteSegments(long belowOffset, Instant lastWrittenBefore) throws IOException {
+        if (readOnly) {
+            throw new IllegalStateException("Event log is open for reading only: " + directory);
+        }
+
+        int deleted = 0;
+        for (Segment segment : List.copyOf(segments.headMap(activeSegment.baseOffset).values())) {
+            long segmentEndOffset = segments.higherKey(segment.baseOffset);
+            boolean consumed = segmentEndOffset <= belowOffset;
+            boolean expired = Files.getLastModifiedTime(segment.path).toInstant().isBefore(lastWrittenBefore);
+            if (!consumed && !expired) {
+                break;
+            }
+
+            segments.remove(segment.baseOffset);
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+            deleted++;
+            log.info("Deleted event log segment {}: offsets {}-{}, consumed={}",
+                    segment.path, segment.baseOffset, segmentEndOffset - 1, consumed);
+        }
+        return deleted;
+    }
+
+    /**
+     * Forces the record with the given offset and every record before it to disk.
+     * Returns without forcing if a previous call or {@link #force()} already covered the record,
+     * so callers waiting on the same records share a single force.
+     */
+    public synchronized void forceThrough(long offset) {
+        if (readOnly || offset < durableOffset) {
+            return;
+        }
+        int forcedPosition = activeSegment.forcedPosition;
+        if (activeSegment.writePosition > forcedPosition) {
+            activeSegment.buffer.force(forcedPosition, activeSegment.writePosition - forcedPosition);
+        }
+        activeSegment.forcedPosition = activeSegment.writePosition;
+        durableOffset = nextOffset;
+    }
+
+    /**
+     * Forces all appended records to disk.
+     */
+    public synchronized void force() {
+        if (!readOnly && activeSegment != null) {
+            activeSegment.buffer.force();
+            activeSegment.forcedPosition = activeSegment.writePosition;
+            durableOffset = nextOffset;
+        }
+    }
+
+    /**
+     * Forces pending appends to disk and closes the segment files.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+        segments.clear();
+    }
+
+    private void loadSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentFiles = files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList();
+        }
+        for (Path file : segmentFiles) {
+            long baseOffset = baseOffsetOf(file);
+            if (!segments.containsKey(baseOffset)) {
+                segments.put(baseOffset, Segment.open(file, baseOffset, readOnly ? 0 : segmentBytes, readOnly));
+            }
+        }
+
+        // A reader drops segments the writer has deleted; records read from them stay valid
+        if (readOnly && !segmentFiles.isEmpty()) {
+            long startOffset = segmentFiles.stream().mapToLong(MappedEventLog::baseOffsetOf).min().orElseThrow();
+            NavigableMap<Long, Segment> deleted = segments.headMap(startOffset, false);
+            for (Segment segment : deleted.values()) {
+                segment.channel.close();
+            }
+            deleted.clear();
+        }
+    }
+
+    /**
+     * Looks for a segment starting at the given offset that another process has created.
+     */
+    private boolean refreshSegments(long offset) {
+        try {
+            loadSegments();
+        } catch (IOException e) {
+            log.warn("Could not list event log segments in {}", directory, e);
+        }
+        return segments.containsKey(offset);
+    }
+
+    /**
+     * Finds the end of the log after a restart and discards a partially written last record.
+     */
+    private void recover() throws IOException {
+        if (segments.isEmpty()) {
+            activeSegment = createSegment(0L);
+            return;
+        }
+
+        activeSegment = segments.lastEntry().getValue();
+        nextOffset = activeSegment.baseOffset;
+        int position = 0;
+        EventLogRecord record;
+        while ((record = activeSegment.recordAt(position)) != null) {
+            if ((record.offset() - activeSegment.baseOffset) % INDEX_INTERVAL == 0) {
+                activeSegment.index.put(record.offset(), position);
+            }
+            position += Integer.BYTES + activeSegment.buffer.getInt(position);
+            nextOffset = record.offset() + 1;
+        }
+        activeSegment.writePosition = position;
+        endOffset = nextOffset;
+
+        if (position + Integer.BYTES <= activeSegment.capacity() && activeSegment.buffer.getInt(position) != 0) {
+            log.warn("Discarding partially written record at the end of event log segment {}", activeSegment.path);
+            activeSegment.buffer.put(position, new byte[activeSegment.capacity() - position]);
+        }
+        // Records recovered from the page cache of a crashed process are not necessarily on disk yet
+        force();
+        log.info("Opened event log {}: segments={}, endOffset={}", directory, segments.size(), endOffset);
+    }
+
+    private void roll() {
+        try {
+            activeSegment.buffer.force();
+            durableOffset = nextOffset;
+            activeSegment = createSegment(nextOffset);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start a new event log segment in " + directory, e);
+        }
+    }
+
+    private Segment createSegment(long baseOffset) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+        Segment segment = Segment.open(file, baseOffset, segmentBytes, false);
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+
+    private static long baseOffsetOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * A mapped segment file with a sparse offset index.
+     */
+    private static final class Segment {
+
+        private final Path path;
+        private final long baseOffset;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final NavigableMap<Long, Integer> index = new ConcurrentSkipListMap<>();
+        private int writePosition;
+        private int forcedPosition;
+
+        private Segment(Path path, long baseOffset, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.baseOffset = baseOffset;
+            this.channel = channel;
+            this.buffer = buffer;
+            index.put(baseOffset, 0);
+        }
+
+        static Segment open(Path path, long baseOffset, int size, boolean readOnly) throws IOException {
+            FileChannel channel = readOnly
+                    ? FileChannel.open(path, StandardOpenOption.READ)
+                    : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long mappedSize = readOnly ? channel.size() : Math.max(size, channel.size());
+            MappedByteBuffer buffer = channel.map(
+                    readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+            return new Segment(path, baseOffset, channel, buffer);
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        /**
+         * Reads consecutive records starting at the given offset into the target list.
+         *
+         * @return Number of records read; 0 if the offset is not in this segment (yet)
+         */
+        int read(long fromOffset, int maxRecords, List<EventLogRecord> target) {
+            int position = positionOf(fromOffset);
+            int readCount = 0;
+            EventLogRecord record;
+            while (position >= 0 && readCount < maxRecords && (record = recordAt(position)) != null) {
+                target.add(record);
+                readCount++;
+                position += Integer.BYTES + buffer.getInt(position);
+            }
+            return readCount;
+        }
+
+        /**
+         * Finds the position of the record with the given offset, scanning from the nearest indexed record.
+         *
+         * @return The position, or -1 if the record is not in this segment (yet)
+         */
+        int positionOf(long offset) {
+            Map.Entry<Long, Integer> indexed = index.floorEntry(offset);
+            int position = indexed.getValue();
+            EventLogRecord record;
+            while ((record = recordAt(position)) != null) {
+                if (record.offset() == offset) {
+                    return position;
+                }
+                if ((record.offset() - baseOffset) % INDEX_INTERVAL == 0) {
+                    index.putIfAbsent(record.offset(), position);
+                }
+                position += Integer.BYTES + buffer.getInt(position);
+            }
+            return -1;
+        }
+
+        /**
+         * Decodes the record at the given position.
+         *
+         * @return The record, or null at the end of the written data or on a partially written record
+         */
+        EventLogRecord recordAt(int position) {
+            if (position + Integer.BYTES > capacity()) {
+                return null;
+            }
+            int length = buffer.getInt(position);
+            if (length < FIXED_BODY_BYTES || position + Integer.BYTES + length > capacity()) {
+                return null;
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(position + 2 * Integer.BYTES, length - Integer.BYTES));
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                return null;
+            }
+
+            ByteBuffer view = buffer.slice(position + 2 * Integer.BYTES, length - Integer.BYTES);
+            long offset = view.getLong();
+            byte[] key = new byte[view.getShort()];
+            view.get(key);
+            byte[] type = new byte[view.getShort()];
+            view.get(type);
+            byte[] payload = new byte[view.remaining()];
+            view.get(payload);
+            return new EventLogRecord(offset, new String(key, StandardCharsets.UTF_8),
+                    new String(type, StandardCharsets.UTF_8), payload);
+        }
+    }
+}
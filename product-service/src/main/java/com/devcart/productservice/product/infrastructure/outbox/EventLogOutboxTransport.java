@@ -0,0 +1,64 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.eventlog.MappedEventLog;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Outbox transport appending events to the embedded event log instead of Kafka.
+ * An event is acknowledged only once its record is forced to disk, so an event marked as published
+ * survives an operating system crash. Forces run on a single thread that covers every record appended
+ * before it starts, so the events of a relayer wave share one force. The relayer serializes the events
+ * of an aggregate, so they keep their order in the log.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.relayer.transport", havingValue = "event-log")
+public class EventLogOutboxTransport implements OutboxTransport {
+
+    private final MappedEventLog eventLog;
+    private final OutboxPayloadSerializer payloadSerializer;
+    private final OutboxPayloadCompressor payloadCompressor;
+
+    private final ExecutorService forceExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("event-log-force").daemon().factory());
+
+    /**
+     * Appends an outbox event to the log. Payloads are stored as JSON, the format
+     * {@link com.devcart.productservice.product.infrastructure.eventlog.EventLogDomainEventPublisher} writes,
+     * so log consumers see one encoding whatever the outbox codec is.
+     *
+     * @return Future completing once the record is on disk
+     */
+    @Override
+    public CompletableFuture<String> send(OutboxEventJpaEntity outboxEvent) {
+        byte[] payload;
+        try {
+            payload = payloadSerializer.toJson(payloadCompressor.decompress(outboxEvent),
+                    OutboxPayloadCodec.fromId(outboxEvent.getPayloadCodec()));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long offset = eventLog.append(outboxEvent.getAggregateId().toString(), outboxEvent.getEventType(), payload);
+        return CompletableFuture.supplyAsync(() -> {
+            eventLog.forceThrough(offset);
+            return "event-log@" + offset;
+        }, forceExecutor);
+    }
+
+    /**
+     * Stops the force thread; the log forces what is left when it is closed.
+     */
+    @PreDestroy
+    void shutdown() {
+        forceExecutor.shutdown();
+    }
+}
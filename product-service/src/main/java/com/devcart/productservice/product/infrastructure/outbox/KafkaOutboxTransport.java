@@ -0,0 +1,188 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.ecommerced.core.domain.common.DomainEvent;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outbox transport publishing events to a Kafka topic, keyed by aggregate ID so the events
+ * of an aggregate stay in one partition and keep their order.
+ * With outbox.relayer.exactly-once.enabled, every relayer batch is sent as one Kafka transaction
+ * through {@link OutboxKafkaTransactions}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.relayer.transport", havingValue = "kafka", matchIfMissing = true)
+public class KafkaOutboxTransport implements OutboxTransport {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectProvider<OutboxPassThroughProducer> passThroughProducerProvider;
+    private final OutboxPayloadSerializer payloadSerializer;
+    private final OutboxEventTypeRegistry eventTypeRegistry;
+    private final OutboxPayloadCompressor payloadCompressor;
+    private final ObjectProvider<OutboxKafkaTransactions> kafkaTransactionsProvider;
+
+    @Value("${outbox.relayer.kafka-topic:product-events}")
+    private String kafkaTopic;
+
+    @Value("${outbox.relayer.payload-mode:DOMAIN_EVENT}")
+    private PayloadMode payloadMode;
+
+    @Value("${outbox.relayer.pass-through-compressed:false}")
+    private boolean passThroughCompressed;
+
+    /**
+     * Sends an outbox event as a Kafka record.
+     * DOMAIN_EVENT records go through the application's KafkaTemplate and its configured value serializer;
+     * PASS_THROUGH records go through the dedicated {@link OutboxPassThroughProducer}.
+     */
+    @Override
+    public CompletableFuture<String> send(OutboxEventJpaEntity outboxEvent) {
+        ProducerRecord<String, Object> record = createRecord(outboxEvent);
+        CompletableFuture<SendResult<String, Object>> result = payloadMode == PayloadMode.PASS_THROUGH
+                ? passThroughProducerProvider.getObject().send(record)
+                : kafkaTemplate.send(record);
+        return result.thenApply(KafkaOutboxTransport::describe);
+    }
+
+    /**
+     * Opens a Kafka transaction for the batch in exactly-once mode; otherwise sends stand on their own.
+     */
+    @Override
+    public Batch beginBatch(String sliceName) {
+        OutboxKafkaTransactions transactions = kafkaTransactionsProvider.getIfAvailable();
+        if (transactions == null) {
+            return OutboxTransport.super.beginBatch(sliceName);
+        }
+        return transactions.begin(sliceName, this::createRecord);
+    }
+
+    @Override
+    public Collection<UUID> lastCommittedBatch(String sliceName) {
+        OutboxKafkaTransactions transactions = kafkaTransactionsProvider.getIfAvailable();
+        return transactions != null ? transactions.lastCommittedBatch(sliceName) : List.of();
+    }
+
+    @Override
+    public void releaseSlice(String sliceName) {
+        OutboxKafkaTransactions transactions = kafkaTransactionsProvider.getIfAvailable();
+        if (transactions != null) {
+            transactions.release(sliceName);
+        }
+    }
+
+    /**
+     * Builds the Kafka record for an outbox event, with the event metadata as record headers
+     * so consumers can filter and route without decoding the value.
+     * In pass-through mode the stored payload becomes the record value without decoding,
+     * with the payload codec's content type as a header. Compressed payloads are decompressed
+     * unless pass-through-compressed is set, in which case the compression travels in a header.
+     * Otherwise the payload is decoded into its domain event first.
+     */
+    private ProducerRecord<String, Object> createRecord(OutboxEventJpaEntity outboxEvent) {
+        // Create Kafka message key using aggregate ID for ordering
+        String messageKey = outboxEvent.getAggregateId().toString();
+
+        if (payloadMode == PayloadMode.PASS_THROUGH) {
+            OutboxPayloadCodec codec = OutboxPayloadCodec.fromId(outboxEvent.getPayloadCodec());
+            OutboxPayloadCompression compression = OutboxPayloadCompression.fromId(outboxEvent.getPayloadCompression());
+            boolean sendCompressed = passThroughCompressed && compression != OutboxPayloadCompression.NONE;
+
+            ProducerRecord<String, Object> record = new ProducerRecord<>(kafkaTopic, messageKey,
+                    sendCompressed ? outboxEvent.getPayload() : payloadCompressor.decompress(outboxEvent));
+            addMetadataHeaders(record, outboxEvent);
+            addHeader(record, OutboxKafkaHeaders.CONTENT_TYPE, codec.contentType());
+            if (sendCompressed) {
+                addHeader(record, OutboxKafkaHeaders.CONTENT_ENCODING, compression.contentEncoding());
+            }
+            return record;
+        }
+
+        // Deserialize the event payload
+        DomainEvent domainEvent = deserializeEvent(outboxEvent);
+
+        ProducerRecord<String, Object> record = new ProducerRecord<>(kafkaTopic, messageKey, domainEvent);
+        addMetadataHeaders(record, outboxEvent);
+        addHeader(record, OutboxKafkaHeaders.CONTENT_TYPE, OutboxPayloadCodec.JSON.contentType());
+        return record;
+    }
+
+    /**
+     * Adds the event metadata headers shared by both payload modes.
+     * Rows written before the occurred-at time was stored fall back to their creation time.
+     */
+    private static void addMetadataHeaders(ProducerRecord<String, Object> record, OutboxEventJpaEntity outboxEvent) {
+        LocalDateTime occurredAt = outboxEvent.getOccurredAt() != null
+                ? outboxEvent.getOccurredAt()
+                : outboxEvent.getCreatedAt();
+
+        addHeader(record, OutboxKafkaHeaders.EVENT_TYPE, outboxEvent.getEventType());
+        addHeader(record, OutboxKafkaHeaders.AGGREGATE_TYPE, outboxEvent.getAggregateType());
+        addHeader(record, OutboxKafkaHeaders.EVENT_ID, outboxEvent.getId().toString());
+        addHeader(record, OutboxKafkaHeaders.OCCURRED_AT, occurredAt.toString());
+        addHeader(record, OutboxKafkaHeaders.SCHEMA_VERSION, outboxEvent.getSchemaVersion().toString());
+    }
+
+    private static void addHeader(ProducerRecord<String, Object> record, String name, String value) {
+        record.headers().add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the stored payload back to a domain event object of its registered type.
+     */
+    private DomainEvent deserializeEvent(OutboxEventJpaEntity outboxEvent) {
+        try {
+            Class<? extends DomainEvent> eventClass = eventTypeRegistry.typeOf(outboxEvent);
+            return payloadSerializer.decode(payloadCompressor.decompress(outboxEvent),
+                    OutboxPayloadCodec.fromId(outboxEvent.getPayloadCodec()), eventClass);
+
+        } catch (Exception e) {
+            throw new OutboxEventDeserializationException(
+                    "Failed to deserialize outbox event: " + outboxEvent.getId(), e);
+        }
+    }
+
+    private static String describe(SendResult<String, Object> result) {
+        RecordMetadata metadata = result.getRecordMetadata();
+        return metadata.topic() + "-" + metadata.partition() + "@" + metadata.offset();
+    }
+
+    /**
+     * Custom exception for event deserialization failures.
+     */
+    public static class OutboxEventDeserializationException extends RuntimeException {
+        public OutboxEventDeserializationException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * How the transport turns a stored outbox row into a Kafka record value.
+     */
+    public enum PayloadMode {
+        /**
+         * Sends the stored payload bytes unchanged, with the event type and content type as record headers.
+         * Opt-in: the record value is in the stored codec rather than the producer's configured format.
+         */
+        PASS_THROUGH,
+        /**
+         * Rebuilds the domain event from its payload and lets the producer serialize it again (the default).
+         */
+        DOMAIN_EVENT
+    }
+}
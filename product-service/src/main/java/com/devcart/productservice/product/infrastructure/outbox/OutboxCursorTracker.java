@@ -0,0 +1,75 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventRepository;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxRelayerCursorJpaEntity;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxRelayerCursorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the persisted relayer cursors over the outbox sequence.
+ * <p>
+ * Sequence numbers are allocated at insert time but become visible at commit time, so a row
+ * with a lower number can appear after rows with higher numbers. A cursor therefore only moves
+ * over rows that are no longer pending and were created longer ago than the settle window.
+ * Each slice of the lane key space has its own cursor, named after the slice.
+ * Methods must be called inside a transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.relayer.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxCursorTracker {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayerCursorRepository cursorRepository;
+
+    @Value("${outbox.relayer.cursor.settle-window-ms:60000}")
+    private long settleWindowMs;
+
+    private final Map<String, Long> positions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the current position of a cursor, creating the cursor on first use.
+     */
+    public long position(String name) {
+        return positions.computeIfAbsent(name, this::loadOrCreate);
+    }
+
+    /**
+     * Moves a cursor past every settled event of its lane keys directly above it.
+     */
+    public void advance(String name, Collection<Integer> laneKeys) {
+        long current = position(name);
+
+        Long firstPending = outboxEventRepository.findMinPendingSequenceAfter(laneKeys, current);
+        Long lastSettled = outboxEventRepository.findMaxSequenceCreatedBefore(
+                laneKeys,
+                current,
+                firstPending != null ? firstPending : Long.MAX_VALUE,
+                LocalDateTime.now().minus(settleWindowMs, ChronoUnit.MILLIS));
+
+        if (lastSettled == null || lastSettled <= current) {
+            return;
+        }
+
+        cursorRepository.advance(name, lastSettled, LocalDateTime.now());
+        positions.put(name, lastSettled);
+        log.debug("Advanced outbox cursor: name={}, position={}", name, lastSettled);
+    }
+
+    private long loadOrCreate(String name) {
+        return cursorRepository.findById(name)
+                .orElseGet(() -> cursorRepository.save(OutboxRelayerCursorJpaEntity.create(name)))
+                .getPosition();
+    }
+}
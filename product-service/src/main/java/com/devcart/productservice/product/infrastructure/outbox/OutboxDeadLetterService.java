@@ -0,0 +1,134 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxDeadLetterEventRepository;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service managing the outbox dead-letter tier.
+ * Moves events that exhausted their retries out of the outbox table and replays them
+ * back into it in bounded chunks, each chunk in its own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDeadLetterService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeadLetterEventRepository deadLetterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final OutboxMetricsRecorder metricsRecorder;
+
+    @Value("${outbox.dead-letter.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Moves the given exhausted outbox events to the dead-letter table.
+     * Must run inside the transaction that marked the events as exhausted.
+     *
+     * @param ids IDs of the exhausted outbox events
+     * @return Number of moved events
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int deadLetter(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        deadLetterRepository.copyFromOutbox(ids, LocalDateTime.now());
+        int movedCount = outboxEventRepository.deleteExhaustedEvents(ids);
+        metricsRecorder.adjustBacklog(0, 0, movedCount);
+        return movedCount;
+    }
+
+    /**
+     * Moves exhausted events that are still in the outbox table to the dead-letter table,
+     * one chunk per transaction.
+     *
+     * @return Number of moved events
+     */
+    public int sweepExhaustedEvents() {
+        int movedCount = 0;
+        Integer chunkCount;
+        do {
+            chunkCount = transactionTemplate.execute(status -> {
+                List<UUID> ids = outboxEventRepository.findExhaustedEventIds(PageRequest.of(0, batchSize));
+                return deadLetter(ids);
+            });
+            movedCount += chunkCount;
+        } while (chunkCount >= batchSize);
+
+        return movedCount;
+    }
+
+    /**
+     * Re-injects the dead-lettered events matching the filter into the outbox as PENDING events.
+     * Events are replayed in their original sequence order, one chunk per transaction, so a replay
+     * of any size keeps a bounded footprint and already committed chunks survive a failure.
+     *
+     * @param filter Selects the events to replay
+     * @return Summary of the replay
+     */
+    public ReplayResult replay(ReplayFilter filter) {
+        long replayedCount = 0;
+        int chunks = 0;
+        Integer chunkCount;
+        do {
+            chunkCount = transactionTemplate.execute(status -> replayChunk(filter));
+            replayedCount += chunkCount;
+            if (chunkCount > 0) {
+                chunks++;
+            }
+        } while (chunkCount >= batchSize);
+
+        log.info("Replayed {} dead-lettered outbox events in {} chunks: {}", replayedCount, chunks, filter);
+        return new ReplayResult(replayedCount, chunks);
+    }
+
+    /**
+     * Counts the events in the dead-letter table.
+     */
+    public long countDeadLetterEvents() {
+        return deadLetterRepository.count();
+    }
+
+    private int replayChunk(ReplayFilter filter) {
+        List<UUID> ids = deadLetterRepository.findIdsForReplay(filter.eventType(), filter.aggregateId(),
+                filter.createdFrom(), filter.createdBefore(), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int replayedCount = deadLetterRepository.copyToOutbox(ids, LocalDateTime.now());
+        deadLetterRepository.deleteByIds(ids);
+        metricsRecorder.adjustBacklog(0, 0, -replayedCount);
+        applicationEventPublisher.publishEvent(new OutboxEventsWrittenEvent(replayedCount));
+        return replayedCount;
+    }
+
+    /**
+     * Selects dead-lettered events for a replay. Null components match all events.
+     */
+    public record ReplayFilter(String eventType, UUID aggregateId,
+                               LocalDateTime createdFrom, LocalDateTime createdBefore) {
+    }
+
+    /**
+     * Summary of a completed replay.
+     */
+    public record ReplayResult(long replayedEvents, int chunks) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.OutboxPayloadCompressor.CompressedPayload;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Coalesces bursts of state events of the same aggregate before they are relayed.
+ * <p>
+ * Supersedable event types carry the full state of one concern of an aggregate (its name, its tags, ...),
+ * so only the latest of several such events needs to reach consumers. Those events are held back until
+ * they are older than the coalescing window; within a batch, earlier events of the same type and aggregate
+ * are then superseded by the latest one. Payload fields starting with "old" are taken from the earliest
+ * superseded event, so the published event still describes the whole change.
+ * <p>
+ * Any other event of the aggregate acts as a barrier: events are never merged across it, and events
+ * behind a held-back one are held back too so per-aggregate order is kept.
+ * Enabled with outbox.relayer.coalescing.enabled=true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.relayer.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxEventCoalescer {
+
+    private static final String OLD_FIELD_PREFIX = "old";
+
+    private final OutboxPayloadSerializer payloadSerializer;
+    private final OutboxPayloadCompressor payloadCompressor;
+
+    @Value("${outbox.relayer.coalescing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${outbox.relayer.coalescing.window-ms:2000}")
+    private long windowMs;
+
+    @Value("${outbox.relayer.coalescing.event-types:" +
+            "com.devcart.productservice.product.domain.event.ProductUpdatedEvent," +
+            "com.devcart.productservice.product.domain.event.ProductTagsUpdatedEvent," +
+            "com.devcart.productservice.product.domain.event.ProductCategoriesUpdatedEvent," +
+            "com.devcart.productservice.product.domain.event.ProductImagesUpdatedEvent}")
+    private Set<String> supersedableTypes;
+
+    /**
+     * Splits a batch of pending events into events to relay now, superseded events and held-back events.
+     * Events to relay keep their original order; merged payloads are written onto the kept events.
+     *
+     * @param events Pending events in sequence order
+     * @return The outcome of coalescing
+     */
+    public Coalescing coalesce(List<OutboxEventJpaEntity> events) {
+        if (!enabled) {
+            return new Coalescing(events, List.of(), 0);
+        }
+
+        LocalDateTime windowStart = LocalDateTime.now().minus(windowMs, ChronoUnit.MILLIS);
+        Set<UUID> heldBackAggregates = new HashSet<>();
+        Map<UUID, Map<String, List<OutboxEventJpaEntity>>> runsByAggregate = new HashMap<>();
+        List<OutboxEventJpaEntity> ready = new ArrayList<>(events.size());
+        List<OutboxEventJpaEntity> superseded = new ArrayList<>();
+        int heldBack = 0;
+
+        for (OutboxEventJpaEntity event : events) {
+            UUID aggregateId = event.getAggregateId();
+            boolean supersedable = supersedableTypes.contains(event.getEventType());
+
+            if (heldBackAggregates.contains(aggregateId)
+                    || (supersedable && event.getCreatedAt().isAfter(windowStart))) {
+                heldBackAggregates.add(aggregateId);
+                heldBack++;
+                continue;
+            }
+
+            Map<String, List<OutboxEventJpaEntity>> runs = runsByAggregate.computeIfAbsent(aggregateId, id -> new HashMap<>());
+            if (!supersedable) {
+                supersedeRuns(runs, superseded);
+                ready.add(event);
+                continue;
+            }
+            runs.computeIfAbsent(event.getEventType(), type -> new ArrayList<>()).add(event);
+            ready.add(event);
+        }
+        runsByAggregate.values().forEach(runs -> supersedeRuns(runs, superseded));
+
+        if (!superseded.isEmpty()) {
+            Set<OutboxEventJpaEntity> supersededEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+            supersededEvents.addAll(superseded);
+            ready.removeIf(supersededEvents::contains);
+            log.debug("Coalesced {} superseded outbox events, holding back {}", superseded.size(), heldBack);
+        }
+        return new Coalescing(ready, superseded, heldBack);
+    }
+
+    /**
+     * Returns the coalescing window in milliseconds.
+     */
+    public long windowMs() {
+        return windowMs;
+    }
+
+    /**
+     * Closes the open runs of an aggregate: every run of two or more events collapses into its last event.
+     */
+    private void supersedeRuns(Map<String, List<OutboxEventJpaEntity>> runs, List<OutboxEventJpaEntity> superseded) {
+        for (List<OutboxEventJpaEntity> run : runs.values()) {
+            if (run.size() < 2) {
+                continue;
+            }
+            OutboxEventJpaEntity kept = run.getLast();
+            mergePayload(run.getFirst(), kept);
+            superseded.addAll(run.subList(0, run.size() - 1));
+        }
+        runs.clear();
+    }
+
+    /**
+     * Copies the "old" fields of the earliest payload into the latest one, keeping the latest event's codec
+     * and compressing the merged payload again. Keeps the latest payload if either is not an object.
+     */
+    private void mergePayload(OutboxEventJpaEntity earliestEvent, OutboxEventJpaEntity latestEvent) {
+        OutboxPayloadCodec latestCodec = OutboxPayloadCodec.fromId(latestEvent.getPayloadCodec());
+        try {
+            JsonNode earliest = payloadSerializer.readTree(payloadCompressor.decompress(earliestEvent),
+                    OutboxPayloadCodec.fromId(earliestEvent.getPayloadCodec()));
+            JsonNode latest = payloadSerializer.readTree(payloadCompressor.decompress(latestEvent), latestCodec);
+            if (!(earliest instanceof ObjectNode) || !(latest instanceof ObjectNode merged)) {
+                return;
+            }
+            earliest.properties().stream()
+                    .filter(field -> field.getKey().startsWith(OLD_FIELD_PREFIX))
+                    .forEach(field -> merged.set(field.getKey(), field.getValue()));
+
+            CompressedPayload payload = payloadCompressor.compress(payloadSerializer.writeTree(merged, latestCodec));
+            latestEvent.setPayload(payload.payload());
+            latestEvent.setPayloadCompression(payload.compression().id());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not merge coalesced outbox payloads, keeping the latest one", e);
+        }
+    }
+
+    /**
+     * Outcome of coalescing a batch.
+     *
+     * @param ready      Events to relay now, in order
+     * @param superseded Events replaced by a later event of the same type and aggregate
+     * @param heldBack   Number of events left pending until their coalescing window has passed
+     */
+    public record Coalescing(List<OutboxEventJpaEntity> ready, List<OutboxEventJpaEntity> superseded, int heldBack) {
+    }
+}
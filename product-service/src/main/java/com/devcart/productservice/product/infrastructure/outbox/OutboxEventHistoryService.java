@@ -0,0 +1,156 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventPayload;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventRepository;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventSummary;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only access to the event history in the outbox for monitoring and debugging.
+ * History is read in keyset pages of payload-free projections, so memory stays bounded by the page size
+ * however long an aggregate's history is; payloads are only read, and decoded to JSON, when asked for.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxEventHistoryService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPayloadSerializer payloadSerializer;
+    private final OutboxPayloadCompressor payloadCompressor;
+
+    @Value("${outbox.history.max-page-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Reads one page of history, newest first.
+     *
+     * @param filter          Which events to read
+     * @param beforeSequence  Cursor returned with the previous page, or null for the first page
+     * @param limit           Requested page size; capped at outbox.history.max-page-size
+     * @param includePayloads Whether to include the decoded payloads
+     * @return The page and the cursor of the next one
+     */
+    public HistoryPage findPage(HistoryFilter filter, Long beforeSequence, int limit, boolean includePayloads) {
+        int pageSize = Math.clamp(limit, 1, maxPageSize);
+        List<OutboxEventSummary> summaries = outboxEventRepository.findHistory(filter.aggregateId(),
+                filter.aggregateType(), filter.status(), beforeSequence, pageSize);
+
+        Map<UUID, JsonNode> payloads = includePayloads ? readPayloads(summaries) : Map.of();
+        List<OutboxEventView> events = summaries.stream()
+                .map(summary -> OutboxEventView.of(summary, payloads.get(summary.id())))
+                .toList();
+
+        Long nextCursor = summaries.size() == pageSize ? summaries.getLast().sequenceNumber() : null;
+        return new HistoryPage(events, nextCursor);
+    }
+
+    /**
+     * Hands the whole matching history, newest first, to a consumer one page at a time.
+     * Only one page is held in memory at any point.
+     *
+     * @param filter          Which events to read
+     * @param includePayloads Whether to include the decoded payloads
+     * @param consumer        Receives every event
+     * @return Number of events streamed
+     */
+    public long stream(HistoryFilter filter, boolean includePayloads, Consumer<OutboxEventView> consumer) {
+        long streamed = 0;
+        Long cursor = null;
+        do {
+            HistoryPage page = findPage(filter, cursor, maxPageSize, includePayloads);
+            page.events().forEach(consumer);
+            streamed += page.events().size();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return streamed;
+    }
+
+    /**
+     * Reads and decodes the payloads of a page of events with one query.
+     * Payloads that cannot be decoded are left out and logged.
+     */
+    private Map<UUID, JsonNode> readPayloads(List<OutboxEventSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> ids = summaries.stream().map(OutboxEventSummary::id).toList();
+        return outboxEventRepository.findPayloads(ids).stream()
+                .flatMap(payload -> decode(payload).stream())
+                .collect(Collectors.toMap(DecodedPayload::id, DecodedPayload::payload));
+    }
+
+    private List<DecodedPayload> decode(OutboxEventPayload payload) {
+        try {
+            byte[] encoded = payloadCompressor.decompress(payload.payload(),
+                    OutboxPayloadCompression.fromId(payload.payloadCompression()));
+            return List.of(new DecodedPayload(payload.id(),
+                    payloadSerializer.readTree(encoded, OutboxPayloadCodec.fromId(payload.payloadCodec()))));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not decode outbox payload: id={}", payload.id(), e);
+            return List.of();
+        }
+    }
+
+    private record DecodedPayload(UUID id, JsonNode payload) {
+    }
+
+    /**
+     * Filter for history reads; null fields match all events.
+     *
+     * @param aggregateId   Aggregate whose events to read
+     * @param aggregateType Aggregate type, e.g. Product or ProductVariant
+     * @param status        Event status
+     */
+    public record HistoryFilter(UUID aggregateId, String aggregateType, OutboxEventJpaEntity.OutboxEventStatus status) {
+    }
+
+    /**
+     * One page of history.
+     *
+     * @param events     Events in descending sequence order
+     * @param nextCursor Cursor to pass as beforeSequence for the next page; null on the last page
+     */
+    public record HistoryPage(List<OutboxEventView> events, Long nextCursor) {
+    }
+
+    /**
+     * An outbox event as shown by the history API; payload is null unless requested.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record OutboxEventView(UUID id,
+                                  long sequenceNumber,
+                                  String aggregateType,
+                                  UUID aggregateId,
+                                  String eventType,
+                                  OutboxEventJpaEntity.OutboxEventStatus status,
+                                  LocalDateTime occurredAt,
+                                  LocalDateTime createdAt,
+                                  LocalDateTime processedAt,
+                                  int deliveryAttempts,
+                                  String lastError,
+                                  JsonNode payload) {
+
+        static OutboxEventView of(OutboxEventSummary summary, JsonNode payload) {
+            return new OutboxEventView(summary.id(), summary.sequenceNumber(), summary.aggregateType(),
+                    summary.aggregateId(), summary.eventType(), summary.status(), summary.occurredAt(),
+                    summary.createdAt(), summary.processedAt(), summary.deliveryAttempts(), summary.lastError(),
+                    payload);
+        }
+    }
+}
@@ -1,28 +1,33 @@
 package com.devcart.productservice.product.infrastructure.outbox;
 
-import com.devcart.ecommerced.core.domain.common.DomainEvent;
+import com.devcart.productservice.product.infrastructure.outbox.config.OutboxConfiguration;
 import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
 import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxPartitionManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
- * Service responsible for polling the outbox table and publishing events to Kafka.
- * Runs as a scheduled job to ensure reliable event delivery.
+ * Service responsible for polling the outbox table and publishing events through the configured transport.
+ * Woken up after every commit that writes outbox events, with a scheduled poll as safety net.
  * Can be disabled by setting outbox.relayer.enabled=false
  */
 @Service
@@ -31,152 +36,566 @@ import java.util.concurrent.CompletableFuture;
 @ConditionalOnProperty(name = "outbox.relayer.enabled", havingValue = "true", matchIfMissing = true)
 public class OutboxEventRelayer {
 
+    private static final int MAX_ERROR_LENGTH = 1000;
+
     private final OutboxEventRepository outboxEventRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final OutboxTransport transport;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxCursorTracker cursorTracker;
+    private final OutboxRetryPolicy retryPolicy;
+    private final OutboxDeadLetterService deadLetterService;
+    private final OutboxMetricsRecorder metricsRecorder;
+    private final OutboxLeaseManager leaseManager;
+    private final OutboxEventCoalescer eventCoalescer;
+    private final ObjectProvider<OutboxPartitionManager> partitionManagerProvider;
 
     @Value("${outbox.relayer.batch-size:50}")
     private int batchSize;
 
-    @Value("${outbox.relayer.max-retries:3}")
-    private int maxRetries;
+    @Value("${outbox.relayer.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${outbox.relayer.lanes:1}")
+    private int lanes;
+
+    @Value("${outbox.relayer.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    @Value("${outbox.relayer.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relayer.cursor.rescan-interval-ms:300000}")
+    private long rescanIntervalMs;
+
+    @Value("${outbox.relayer.poll-interval-ms:10000}")
+    private long pollIntervalMs;
+
+    @Value("${outbox.relayer.adaptive.enabled:true}")
+    private boolean adaptive;
+
+    @Value("${outbox.relayer.adaptive.min-batch-size:10}")
+    private int minBatchSize;
 
-    @Value("${outbox.relayer.retry-delay-minutes:5}")
-    private int retryDelayMinutes;
+    @Value("${outbox.relayer.adaptive.max-batch-size:500}")
+    private int maxBatchSize;
 
-    @Value("${outbox.relayer.kafka-topic:product-events}")
-    private String kafkaTopic;
+    @Value("${outbox.relayer.adaptive.min-poll-interval-ms:1000}")
+    private long minPollIntervalMs;
+
+    @Value("${outbox.relayer.adaptive.max-poll-interval-ms:30000}")
+    private long maxPollIntervalMs;
+
+    @Value("${outbox.relayer.adaptive.target-batch-duration-ms:1000}")
+    private long targetBatchDurationMs;
+
+    private final AtomicBoolean drainQueued = new AtomicBoolean(false);
+    private final AtomicBoolean rescanRequested = new AtomicBoolean(true);
+    private final Set<String> recoveredSlices = new HashSet<>();
+    private List<String> ownedSliceNames = List.of();
+    private volatile long lastRescanAt = System.currentTimeMillis();
+    private volatile int currentBatchSize;
+    private volatile long currentPollIntervalMs;
+    private volatile long nextPollAt;
+
+    private ExecutorService laneExecutor;
+    private ExecutorService dispatcher;
 
     /**
-     * Scheduled method that polls for pending events and publishes them to Kafka.
-     * Runs every 10 seconds by default.
+     * Starts the dispatcher thread and the executor that runs the publishing lanes.
      */
-    @Scheduled(fixedDelayString = "${outbox.relayer.poll-interval-ms:10000}")
-    @Transactional
-    public void processOutboxEvents() {
-        try {
-            log.debug("Starting outbox event processing");
+    @PostConstruct
+    void startExecutors() {
+        currentBatchSize = batchSize;
+        currentPollIntervalMs = pollIntervalMs;
+
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("outbox-lane-", 0).factory()
+                : Thread.ofPlatform().name("outbox-lane-", 0).daemon().factory();
+        laneExecutor = Executors.newFixedThreadPool(Math.max(1, lanes), threadFactory);
+        dispatcher = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("outbox-relayer").daemon().factory());
+    }
+
+    /**
+     * Stops the dispatcher and lane executors on shutdown.
+     */
+    @PreDestroy
+    void stopExecutors() {
+        dispatcher.shutdown();
+        laneExecutor.shutdown();
+    }
 
-            // Process pending events
-            Pageable pageable = PageRequest.of(0, batchSize);
-            List<OutboxEventJpaEntity> pendingEvents = outboxEventRepository
-                    .findPendingEventsForProcessing(pageable);
+    /**
+     * Wakes the relayer as soon as a transaction that wrote outbox events has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOutboxEventsWritten(OutboxEventsWrittenEvent event) {
+        log.debug("Outbox wakeup after commit: {} new events", event.eventCount());
+        requestProcessing();
+    }
 
-            if (!pendingEvents.isEmpty()) {
-                log.info("Processing {} pending outbox events", pendingEvents.size());
-                processEvents(pendingEvents);
-            }
+    /**
+     * Safety-net poll that picks up events whose wakeup was lost, e.g. after a crash,
+     * and failed events that became eligible for retry.
+     * Every rescan interval the poll also scans from the start of the outbox instead of the cursor,
+     * catching events whose transaction committed after the settle window had passed.
+     * Ticks at the minimum poll interval and skips until the current, adaptive poll interval has elapsed.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relayer.adaptive.min-poll-interval-ms:1000}",
+            scheduler = OutboxConfiguration.RELAYER_SCHEDULER)
+    public void pollOutboxEvents() {
+        long now = System.currentTimeMillis();
+        if (now < nextPollAt) {
+            return;
+        }
+        nextPollAt = now + currentPollIntervalMs;
+
+        if (now - lastRescanAt >= rescanIntervalMs) {
+            lastRescanAt = now;
+            rescanRequested.set(true);
+        }
+        requestProcessing();
+    }
+
+    /**
+     * Requests a drain of the outbox on the dispatcher thread.
+     * Signals arriving while a drain is already queued are coalesced into it; a signal
+     * arriving while a drain is running queues exactly one follow-up drain.
+     */
+    public void requestProcessing() {
+        if (drainQueued.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                drainQueued.set(false);
+                drainOutbox();
+            });
+        }
+    }
 
-            // Process failed events that are eligible for retry
-            LocalDateTime retryAfter = LocalDateTime.now().minusMinutes(retryDelayMinutes);
-            List<OutboxEventJpaEntity> failedEvents = outboxEventRepository
-                    .findFailedEventsForRetry(maxRetries, retryAfter, pageable);
-
-            if (!failedEvents.isEmpty()) {
-                log.info("Retrying {} failed outbox events", failedEvents.size());
-                // Reset failed events to pending for retry
-                failedEvents.forEach(OutboxEventJpaEntity::resetToPending);
-                outboxEventRepository.saveAll(failedEvents);
-                processEvents(failedEvents);
+    /**
+     * Relays every slice this instance owns.
+     */
+    private void drainOutbox() {
+        boolean rescan = rescanRequested.getAndSet(false);
+        long totalRelayed = 0;
+        List<OutboxLeaseManager.Slice> slices = leaseManager.ownedSlices();
+        List<String> sliceNames = slices.stream().map(OutboxLeaseManager.Slice::name).toList();
+        // Slices lost to another instance must be recovered again if they come back
+        recoveredSlices.retainAll(sliceNames);
+        ownedSliceNames.stream()
+                .filter(sliceName -> !sliceNames.contains(sliceName))
+                .forEach(transport::releaseSlice);
+        ownedSliceNames = sliceNames;
+        for (OutboxLeaseManager.Slice slice : slices) {
+            totalRelayed += drainSlice(slice, rescan);
+        }
+        adaptPollInterval(totalRelayed);
+    }
+
+    /**
+     * Relays batches of a slice until it returns a partial batch, then advances the slice cursor.
+     * The batch size is adapted after every batch.
+     *
+     * @return Number of pending events relayed
+     */
+    private long drainSlice(OutboxLeaseManager.Slice slice, boolean rescan) {
+        long totalRelayed = 0;
+        try {
+            if (!recoveredSlices.contains(slice.name())) {
+                recoverSlice(slice);
+                recoveredSlices.add(slice.name());
             }
 
-            log.debug("Completed outbox event processing");
+            int limit;
+            int relayed;
+            do {
+                limit = currentBatchSize;
+                int batchLimit = limit;
+                long startedAt = System.nanoTime();
+                relayed = Objects.requireNonNullElse(
+                        transactionTemplate.execute(status -> processOutboxEvents(slice, rescan, batchLimit)), 0);
+                adaptBatchSize(limit, relayed, System.nanoTime() - startedAt);
+                totalRelayed += relayed;
+            } while (relayed >= limit);
+
+            transactionTemplate.executeWithoutResult(status ->
+                    cursorTracker.advance(slice.name(), slice.laneKeys()));
 
         } catch (Exception e) {
-            log.error("Error during outbox event processing", e);
+            // A failed batch may have reached the transport without its database commit; check before relaying again
+            recoveredSlices.remove(slice.name());
+            log.error("Error during outbox event processing: slice={}", slice.name(), e);
+        }
+        return totalRelayed;
+    }
+
+    /**
+     * Settles the events relayed by the last committed atomic batch of a slice whose database commit was lost,
+     * e.g. because the relayer crashed in between. Without this they would be relayed a second time.
+     * A no-op for transports without atomic batches.
+     */
+    private void recoverSlice(OutboxLeaseManager.Slice slice) {
+        Collection<UUID> relayedIds = transport.lastCommittedBatch(slice.name());
+        if (relayedIds.isEmpty()) {
+            return;
+        }
+        int recovered = Objects.requireNonNullElse(transactionTemplate.execute(status ->
+                outboxEventRepository.markRelayedAsPublished(relayedIds, LocalDateTime.now())), 0);
+        if (recovered > 0) {
+            log.warn("Settled {} outbox events already relayed by the last committed batch: slice={}",
+                    recovered, slice.name());
+            metricsRecorder.reconcileBacklog();
         }
     }
 
     /**
-     * Processes a list of outbox events by publishing them to Kafka.
+     * Polls one batch of pending events plus the failed events due for retry and publishes them
+     * through the transport. Must run inside a transaction so the row locks and status updates share it.
+     *
+     * @param slice  Slice of the lane key space to relay
+     * @param rescan Whether to scan from the start of the outbox instead of the cursor
+     * @param limit  Maximum number of pending and of retried events to relay
+     * @return Number of pending events relayed or coalesced
      */
-    private void processEvents(List<OutboxEventJpaEntity> events) {
-        for (OutboxEventJpaEntity event : events) {
-            try {
-                publishEvent(event);
-            } catch (Exception e) {
-                log.error("Failed to process outbox event: id={}, eventType={}, error={}",
-                        event.getId(), event.getEventType(), e.getMessage(), e);
-                event.markAsFailed("Failed to publish: " + e.getMessage());
-                outboxEventRepository.save(event);
+    private int processOutboxEvents(OutboxLeaseManager.Slice slice, boolean rescan, int limit) {
+        log.debug("Starting outbox event processing");
+
+        // Process pending events
+        long afterSequence = rescan ? 0L : cursorTracker.position(slice.name());
+        Pageable pageable = PageRequest.of(0, limit);
+        List<OutboxEventJpaEntity> pendingEvents = outboxEventRepository
+                .findPendingEventsForProcessing(slice.laneKeys(), afterSequence, pageable);
+
+        // IDs relayed by committed atomic batches within this database transaction
+        List<UUID> relayedIds = new ArrayList<>();
+        int handled = 0;
+        if (!pendingEvents.isEmpty()) {
+            OutboxEventCoalescer.Coalescing coalescing = eventCoalescer.coalesce(pendingEvents);
+            log.info("Processing {} pending outbox events", coalescing.ready().size());
+            if (!coalescing.ready().isEmpty()) {
+                processEvents(slice, coalescing.ready(), relayedIds);
+            }
+            markCoalesced(coalescing.superseded());
+            if (coalescing.heldBack() > 0) {
+                // Come back once the held-back events have left their coalescing window
+                nextPollAt = Math.min(nextPollAt, System.currentTimeMillis() + eventCoalescer.windowMs());
             }
+            handled = coalescing.ready().size() + coalescing.superseded().size();
         }
+
+        // Process failed events whose next attempt is due
+        List<OutboxEventJpaEntity> failedEvents = outboxEventRepository
+                .findEventsDueForRetry(slice.laneKeys(), LocalDateTime.now(), pageable);
+
+        if (!failedEvents.isEmpty()) {
+            log.info("Retrying {} failed outbox events", failedEvents.size());
+            processEvents(slice, failedEvents, relayedIds);
+        }
+
+        log.debug("Completed outbox event processing");
+        return handled;
     }
 
     /**
-     * Publishes a single outbox event to Kafka.
+     * Settles events that were superseded by a later event of the same type and aggregate.
      */
-    private void publishEvent(OutboxEventJpaEntity outboxEvent) {
-        try {
-            // Deserialize the event payload
-            DomainEvent domainEvent = deserializeEvent(outboxEvent);
-
-            // Create Kafka message key using aggregate ID for ordering
-            String messageKey = outboxEvent.getAggregateId().toString();
-
-            // Publish to Kafka asynchronously
-            CompletableFuture<SendResult<String, Object>> future = kafkaTemplate
-                    .send(kafkaTopic, messageKey, domainEvent);
-
-            // Handle success/failure
-            future.whenComplete((result, throwable) -> {
-                if (throwable != null) {
-                    log.error("Failed to publish event to Kafka: eventId={}, error={}",
-                            outboxEvent.getId(), throwable.getMessage(), throwable);
-                    outboxEvent.markAsFailed("Kafka publish failed: " + throwable.getMessage());
-                } else {
-                    log.debug("Successfully published event to Kafka: eventId={}, topic={}, partition={}, offset={}",
-                            outboxEvent.getId(),
-                            result.getRecordMetadata().topic(),
-                            result.getRecordMetadata().partition(),
-                            result.getRecordMetadata().offset());
-                    outboxEvent.markAsPublished();
+    private void markCoalesced(List<OutboxEventJpaEntity> superseded) {
+        if (superseded.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.markAsCoalesced(
+                superseded.stream().map(OutboxEventJpaEntity::getId).toList(), LocalDateTime.now());
+        superseded.forEach(event -> metricsRecorder.recordCoalesced(event.getEventType()));
+        metricsRecorder.adjustBacklog(-superseded.size(), 0, 0);
+    }
+
+    /**
+     * Adapts the batch size to the last batch of a slice and its publish latency.
+     * A full batch that finished within the target duration means a backlog the relayer can take on
+     * faster, so the batch size doubles; a batch that took longer than the target halves it so slow
+     * acknowledgements do not hold row locks for long. A partial batch means the slice is drained, so the
+     * size moves back to the configured batch size, or to the number of events this batch relayed if that
+     * is larger. The global backlog is not used since it counts events of slices other instances own.
+     */
+    private void adaptBatchSize(int limit, int relayed, long durationNanos) {
+        if (!adaptive) {
+            return;
+        }
+
+        int adapted;
+        if (durationNanos > TimeUnit.MILLISECONDS.toNanos(targetBatchDurationMs)) {
+            adapted = limit / 2;
+        } else if (relayed >= limit) {
+            adapted = limit * 2;
+        } else {
+            adapted = Math.max(batchSize, relayed);
+        }
+        adapted = Math.clamp(adapted, minBatchSize, maxBatchSize);
+
+        if (adapted != limit) {
+            log.debug("Adapted outbox batch size from {} to {} (relayed={}, durationMs={})",
+                    limit, adapted, relayed, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+            currentBatchSize = adapted;
+        }
+    }
+
+    /**
+     * Adapts the safety-net poll interval to the outbox activity.
+     * A drain that relayed events resets the interval to the minimum so bursts are picked up quickly;
+     * an idle drain doubles it up to the maximum so an empty table is polled rarely.
+     */
+    private void adaptPollInterval(long relayed) {
+        if (!adaptive) {
+            return;
+        }
+
+        long adapted = relayed > 0
+                ? minPollIntervalMs
+                : Math.min(maxPollIntervalMs, Math.max(minPollIntervalMs, currentPollIntervalMs * 2));
+
+        if (adapted != currentPollIntervalMs) {
+            log.debug("Adapted outbox poll interval from {}ms to {}ms", currentPollIntervalMs, adapted);
+            currentPollIntervalMs = adapted;
+            nextPollAt = Math.min(nextPollAt, System.currentTimeMillis() + adapted);
+        }
+    }
+
+    /**
+     * Processes a list of outbox events by publishing them through the transport.
+     * Events are hashed onto lanes by aggregate ID; lanes publish in parallel while
+     * each lane keeps the original order of the events it owns. Outcomes are written
+     * back with one set-based UPDATE per outcome inside the polling transaction.
+     * <p>
+     * An atomic batch is committed only if every event was acknowledged, recording the IDs relayed so far
+     * in this database transaction with it. Otherwise it is aborted: the failed events are scheduled for
+     * retry and the others stay as they were, to be relayed again with the next batch.
+     *
+     * @param relayedIds IDs relayed by earlier atomic batches of the current database transaction
+     */
+    private void processEvents(OutboxLeaseManager.Slice slice, List<OutboxEventJpaEntity> events,
+                               List<UUID> relayedIds) {
+        long startedAt = System.nanoTime();
+        Map<Integer, List<OutboxEventJpaEntity>> eventsByLane = events.stream()
+                .collect(Collectors.groupingBy(this::laneOf, LinkedHashMap::new, Collectors.toList()));
+
+        OutboxTransport.Batch batch = transport.beginBatch(slice.name());
+        List<CompletableFuture<List<PublishOutcome>>> laneTasks = eventsByLane.values().stream()
+                .map(laneEvents -> CompletableFuture.supplyAsync(() -> publishLane(batch, laneEvents), laneExecutor))
+                .toList();
+
+        List<PublishOutcome> outcomes = laneTasks.stream()
+                .flatMap(laneTask -> laneTask.join().stream())
+                .toList();
+
+        if (batch.isAtomic()) {
+            if (outcomes.size() == events.size() && outcomes.stream().allMatch(PublishOutcome::isPublished)) {
+                outcomes.forEach(outcome -> relayedIds.add(outcome.event().getId()));
+                batch.commit(relayedIds);
+            } else {
+                batch.abort();
+                outcomes = outcomes.stream()
+                        .filter(outcome -> !outcome.isPublished())
+                        .toList();
+            }
+        }
+
+        acknowledge(outcomes);
+        metricsRecorder.recordBatch(events.size(), System.nanoTime() - startedAt);
+    }
+
+    /**
+     * Publishes the events of a single lane in waves.
+     * Each wave sends the next event of every aggregate in the lane without waiting,
+     * then awaits all acknowledgements against one deadline. Once an event fails, later
+     * events of the same aggregate are held back so they cannot overtake it; other
+     * aggregates in the lane are unaffected.
+     */
+    private List<PublishOutcome> publishLane(OutboxTransport.Batch batch, List<OutboxEventJpaEntity> laneEvents) {
+        Map<UUID, Deque<OutboxEventJpaEntity>> queuesByAggregate = new LinkedHashMap<>();
+        laneEvents.forEach(event -> queuesByAggregate
+                .computeIfAbsent(event.getAggregateId(), aggregateId -> new ArrayDeque<>())
+                .add(event));
+
+        List<PublishOutcome> outcomes = new ArrayList<>(laneEvents.size());
+
+        while (!queuesByAggregate.isEmpty()) {
+            List<OutboxEventJpaEntity> wave = new ArrayList<>(queuesByAggregate.size());
+            Iterator<Deque<OutboxEventJpaEntity>> queues = queuesByAggregate.values().iterator();
+            while (queues.hasNext()) {
+                Deque<OutboxEventJpaEntity> queue = queues.next();
+                wave.add(queue.poll());
+                if (queue.isEmpty()) {
+                    queues.remove();
                 }
-                outboxEventRepository.save(outboxEvent);
-            });
+            }
 
-        } catch (Exception e) {
-            log.error("Error publishing outbox event: id={}, error={}",
-                    outboxEvent.getId(), e.getMessage(), e);
-            throw e;
+            List<CompletableFuture<String>> acknowledgements = wave.stream()
+                    .map(event -> sendEvent(batch, event))
+                    .toList();
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+            for (int i = 0; i < wave.size(); i++) {
+                OutboxEventJpaEntity event = wave.get(i);
+                try {
+                    String delivery = acknowledgements.get(i)
+                            .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+                    log.debug("Successfully published outbox event: eventId={}, delivery={}", event.getId(), delivery);
+                    outcomes.add(PublishOutcome.published(event));
+
+                } catch (Exception e) {
+                    Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    log.error("Failed to publish outbox event: id={}, eventType={}, error={}",
+                            event.getId(), event.getEventType(), cause.getMessage(), cause);
+                    outcomes.add(PublishOutcome.failed(event, "Failed to publish: " + cause.getMessage()));
+
+                    Deque<OutboxEventJpaEntity> heldBack = queuesByAggregate.remove(event.getAggregateId());
+                    if (heldBack != null) {
+                        log.debug("Holding back {} outbox events behind failed predecessor: aggregateId={}",
+                                heldBack.size(), event.getAggregateId());
+                    }
+                }
+            }
         }
+
+        return outcomes;
     }
 
     /**
-     * Deserializes the JSON payload back to a domain event object.
+     * Hands a single outbox event to the transport batch without waiting for the acknowledgement,
+     * recording the send latency once the acknowledgement arrives.
      */
-    private DomainEvent deserializeEvent(OutboxEventJpaEntity outboxEvent) {
+    private CompletableFuture<String> sendEvent(OutboxTransport.Batch batch, OutboxEventJpaEntity outboxEvent) {
+        long sentAt = System.nanoTime();
+        CompletableFuture<String> acknowledgement;
         try {
-            // Get the event class
-            Class<?> eventClass = Class.forName(outboxEvent.getEventType());
+            acknowledgement = batch.send(outboxEvent);
+        } catch (Exception e) {
+            acknowledgement = CompletableFuture.failedFuture(e);
+        }
+        return acknowledgement.whenComplete((delivery, error) ->
+                metricsRecorder.recordSend(System.nanoTime() - sentAt, error == null));
+    }
 
-            // Deserialize the JSON payload
-            Object eventObject = objectMapper.readValue(outboxEvent.getPayload(), eventClass);
+    /**
+     * Writes publish outcomes back to the outbox table.
+     * Failed events get their own backoff and are flushed as one JDBC batch of updates;
+     * published events are then marked with a single set-based UPDATE.
+     * The backlog gauges follow the status changes once the transaction commits.
+     */
+    private void acknowledge(List<PublishOutcome> outcomes) {
+        LocalDateTime processedAt = LocalDateTime.now();
+
+        long retriedCount = outcomes.stream()
+                .filter(outcome -> outcome.event().getStatus() == OutboxEventJpaEntity.OutboxEventStatus.FAILED)
+                .count();
+
+        List<UUID> exhaustedIds = new ArrayList<>();
+        outcomes.stream()
+                .filter(outcome -> !outcome.isPublished())
+                .forEach(outcome -> {
+                    OutboxEventJpaEntity event = outcome.event();
+                    metricsRecorder.recordFailed(event.getEventType());
+                    LocalDateTime nextAttemptAt = retryPolicy.nextAttemptAt(event.getDeliveryAttempts() + 1, processedAt);
+                    event.markAsFailed(truncate(outcome.error()), nextAttemptAt);
+                    if (nextAttemptAt == null) {
+                        log.warn("Outbox event exhausted its retries, moving it to the dead-letter table: id={}, eventType={}",
+                                event.getId(), event.getEventType());
+                        exhaustedIds.add(event.getId());
+                    }
+                });
+
+        List<OutboxEventJpaEntity> publishedEvents = outcomes.stream()
+                .filter(PublishOutcome::isPublished)
+                .map(PublishOutcome::event)
+                .toList();
+        publishedEvents.forEach(event ->
+                metricsRecorder.recordPublished(event.getEventType(), event.getCreatedAt(), processedAt));
+
+        List<UUID> publishedIds = publishedEvents.stream()
+                .map(OutboxEventJpaEntity::getId)
+                .toList();
+        if (!publishedIds.isEmpty()) {
+            outboxEventRepository.markAsPublished(publishedIds, processedAt);
+        } else {
+            outboxEventRepository.flush();
+        }
+        deadLetterService.deadLetter(exhaustedIds);
 
-            if (!(eventObject instanceof DomainEvent)) {
-                throw new IllegalArgumentException("Deserialized object is not a DomainEvent: " + eventClass.getName());
-            }
+        long failedCount = outcomes.size() - publishedIds.size();
+        metricsRecorder.adjustBacklog(
+                -(outcomes.size() - retriedCount),
+                failedCount - exhaustedIds.size() - retriedCount,
+                0);
+    }
 
-            return (DomainEvent) eventObject;
+    /**
+     * Truncates an error message to fit the last_error column.
+     */
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
 
+    /**
+     * Maps an event onto a lane by its lane key, a hash of its aggregate ID.
+     */
+    private int laneOf(OutboxEventJpaEntity event) {
+        return Math.floorMod(event.getLaneKey(), lanes);
+    }
+
+    /**
+     * Moves exhausted events that are still in the outbox table to the dead-letter table.
+     * Catches rows left behind by earlier versions; new exhausted events are moved when they fail.
+     * Runs alongside the cleanup job, on the instance holding the maintenance lease.
+     */
+    @Scheduled(cron = "${outbox.relayer.cleanup-cron:0 0 2 * * ?}",
+            scheduler = OutboxConfiguration.MAINTENANCE_SCHEDULER)
+    public void sweepExhaustedEvents() {
+        if (!leaseManager.acquireMaintenanceLease()) {
+            log.debug("Skipping dead-letter sweep, maintenance lease is held by another instance");
+            return;
+        }
+        try {
+            int movedCount = deadLetterService.sweepExhaustedEvents();
+            if (movedCount > 0) {
+                log.info("Moved {} exhausted outbox events to the dead-letter table", movedCount);
+            }
         } catch (Exception e) {
-            throw new OutboxEventDeserializationException(
-                    "Failed to deserialize outbox event: " + outboxEvent.getId(), e);
+            log.error("Error while moving exhausted outbox events to the dead-letter table", e);
         }
     }
 
     /**
      * Cleanup method to remove old published events.
-     * Runs daily at 2 AM by default.
+     * With partitioning enabled, whole expired daily partitions are dropped instead.
+     * Runs daily at 2 AM by default, on the instance holding the maintenance lease.
+     * Not transactional as a whole: partitions are detached and dropped one short transaction at a time,
+     * so the ACCESS EXCLUSIVE lock a detach needs is never held across the whole run.
      */
-    @Scheduled(cron = "${outbox.relayer.cleanup-cron:0 0 2 * * ?}")
-    @Transactional
+    @Scheduled(cron = "${outbox.relayer.cleanup-cron:0 0 2 * * ?}",
+            scheduler = OutboxConfiguration.MAINTENANCE_SCHEDULER)
     public void cleanupPublishedEvents() {
+        if (!leaseManager.acquireMaintenanceLease()) {
+            log.debug("Skipping outbox cleanup, maintenance lease is held by another instance");
+            return;
+        }
         try {
-            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(7); // Keep events for 7 days
-            int deletedCount = outboxEventRepository.deletePublishedEventsBefore(cutoffDate);
+            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(retentionDays);
+
+            OutboxPartitionManager partitionManager = partitionManagerProvider.getIfAvailable();
+            if (partitionManager != null) {
+                int droppedCount = partitionManager.dropPartitionsBefore(cutoffDate.toLocalDate());
+                if (droppedCount > 0) {
+                    log.info("Dropped {} outbox partitions older than {}", droppedCount, cutoffDate.toLocalDate());
+                }
+                return;
+            }
 
-            if (deletedCount > 0) {
+            Integer deletedCount = transactionTemplate.execute(status ->
+                    outboxEventRepository.deletePublishedEventsBefore(cutoffDate));
+
+            if (deletedCount != null && deletedCount > 0) {
                 log.info("Cleaned up {} published outbox events older than {}", deletedCount, cutoffDate);
             }
 
@@ -187,26 +606,33 @@ public class OutboxEventRelayer {
 
     /**
      * Provides monitoring information about outbox events.
+     * Served from the incrementally maintained backlog gauges instead of counting rows.
      */
     public OutboxMetrics getMetrics() {
-        long pendingCount = outboxEventRepository.countPendingEvents();
-        long failedCount = outboxEventRepository.countFailedEvents();
-
-        return new OutboxMetrics(pendingCount, failedCount);
+        return metricsRecorder.snapshot();
     }
 
     /**
-     * Custom exception for event deserialization failures.
+     * Result of publishing a single outbox event; a null error means the broker acknowledged it.
      */
-    public static class OutboxEventDeserializationException extends RuntimeException {
-        public OutboxEventDeserializationException(String message, Throwable cause) {
-            super(message, cause);
+    private record PublishOutcome(OutboxEventJpaEntity event, String error) {
+
+        static PublishOutcome published(OutboxEventJpaEntity event) {
+            return new PublishOutcome(event, null);
+        }
+
+        static PublishOutcome failed(OutboxEventJpaEntity event, String error) {
+            return new PublishOutcome(event, error);
+        }
+
+        boolean isPublished() {
+            return error == null;
         }
     }
 
     /**
      * Simple metrics class for monitoring outbox events.
      */
-    public record OutboxMetrics(long pendingEvents, long failedEvents) {
+    public record OutboxMetrics(long pendingEvents, long failedEvents, long deadLetterEvents) {
     }
 } 
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.ecommerced.core.domain.common.DomainEvent;
+import com.devcart.productservice.product.domain.event.*;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registry of the domain event types that can be written to the outbox, each under a stable numeric ID.
+ * The ID is stored with every outbox row, so the relayer resolves the event class with a map lookup
+ * instead of loading it by name. IDs are persisted: never reuse or renumber them, only append new ones.
+ * Each type also has a schema version, stored with its rows and sent to consumers as a header;
+ * bump it when the payload of the type changes incompatibly.
+ */
+@Component
+public class OutboxEventTypeRegistry {
+
+    private final Map<Short, Class<? extends DomainEvent>> typesById = new HashMap<>();
+    private final Map<Class<? extends DomainEvent>, Short> idsByType = new HashMap<>();
+    private final Map<String, Short> idsByName = new HashMap<>();
+    private final Map<Class<? extends DomainEvent>, Short> schemaVersionsByType = new HashMap<>();
+
+    public OutboxEventTypeRegistry() {
+        register(1, ProductCreatedEvent.class, 1);
+        register(2, ProductUpdatedEvent.class, 1);
+        register(3, ProductDeletedEvent.class, 1);
+        register(4, ProductActivatedEvent.class, 1);
+        register(5, ProductDeactivatedEvent.class, 1);
+        register(6, ProductCategoryAddedEvent.class, 1);
+        register(7, ProductCategoryRemovedEvent.class, 1);
+        register(8, ProductCategoriesUpdatedEvent.class, 1);
+        register(9, ProductTagAddedEvent.class, 1);
+        register(10, ProductTagRemovedEvent.class, 1);
+        register(11, ProductTagsUpdatedEvent.class, 1);
+        register(12, ProductImageAddedEvent.class, 1);
+        register(13, ProductImageRemovedEvent.class, 1);
+        register(14, ProductImagesUpdatedEvent.class, 1);
+        register(15, ProductVariantCreatedEvent.class, 1);
+        register(16, ProductVariantUpdatedEvent.class, 1);
+        register(17, ProductVariantDeletedEvent.class, 1);
+        register(18, ProductVariantActivatedEvent.class, 1);
+        register(19, ProductVariantDeactivatedEvent.class, 1);
+        register(20, ProductVariantPriceChangedEvent.class, 1);
+        register(21, ProductVariantSkuUpdatedEvent.class, 1);
+    }
+
+    /**
+     * Returns the ID of a domain event type.
+     *
+     * @throws UnregisteredEventTypeException if the type is not registered
+     */
+    public short idOf(Class<? extends DomainEvent> eventType) {
+        Short id = idsByType.get(eventType);
+        if (id == null) {
+            throw new UnregisteredEventTypeException("Domain event type is not registered for the outbox: "
+                    + eventType.getName());
+        }
+        return id;
+    }
+
+    /**
+     * Returns the domain event type registered under an ID.
+     *
+     * @throws UnregisteredEventTypeException if no type has the ID
+     */
+    public Class<? extends DomainEvent> typeOf(short id) {
+        Class<? extends DomainEvent> eventType = typesById.get(id);
+        if (eventType == null) {
+            throw new UnregisteredEventTypeException("Unknown outbox event type ID: " + id);
+        }
+        return eventType;
+    }
+
+    /**
+     * Returns the domain event type of a stored outbox event, falling back to its type name
+     * for rows written before event type IDs were stored.
+     *
+     * @throws UnregisteredEventTypeException if the type is not registered
+     */
+    public Class<? extends DomainEvent> typeOf(OutboxEventJpaEntity outboxEvent) {
+        if (outboxEvent.getEventTypeId() != null) {
+            return typeOf(outboxEvent.getEventTypeId());
+        }
+        return findIdByName(outboxEvent.getEventType())
+                .map(this::typeOf)
+                .orElseThrow(() -> new UnregisteredEventTypeException(
+                        "Domain event type is not registered for the outbox: " + outboxEvent.getEventType()));
+    }
+
+    /**
+     * Finds the ID of a domain event type by its fully qualified class name,
+     * for rows written before event type IDs were stored.
+     */
+    public Optional<Short> findIdByName(String eventTypeName) {
+        return Optional.ofNullable(idsByName.get(eventTypeName));
+    }
+
+    /**
+     * Returns the current schema version of a registered domain event type.
+     *
+     * @throws UnregisteredEventTypeException if the type is not registered
+     */
+    public short schemaVersionOf(Class<? extends DomainEvent> eventType) {
+        idOf(eventType);
+        return schemaVersionsByType.get(eventType);
+    }
+
+    private void register(int id, Class<? extends DomainEvent> eventType, int schemaVersion) {
+        short key = (short) id;
+        if (typesById.putIfAbsent(key, eventType) != null || idsByType.putIfAbsent(eventType, key) != null) {
+            throw new IllegalStateException("Duplicate outbox event type registration: " + id + " " + eventType.getName());
+        }
+        idsByName.put(eventType.getName(), key);
+        schemaVersionsByType.put(eventType, (short) schemaVersion);
+    }
+
+    /**
+     * Thrown when an event type has no registered ID.
+     */
+    public static class UnregisteredEventTypeException extends RuntimeException {
+        public UnregisteredEventTypeException(String message) {
+            super(message);
+        }
+    }
+}
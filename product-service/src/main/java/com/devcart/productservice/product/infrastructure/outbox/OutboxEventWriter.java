@@ -1,20 +1,25 @@
 package com.devcart.productservice.product.infrastructure.outbox;
 
 import com.devcart.ecommerced.core.domain.common.DomainEvent;
+import com.devcart.productservice.product.infrastructure.outbox.OutboxPayloadCompressor.CompressedPayload;
 import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
 import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Component responsible for writing domain events to the outbox table.
  * This ensures that domain events are persisted atomically with business data
  * within the same database transaction.
+ * Payloads are encoded with the configured {@link OutboxPayloadCodec} and tagged with the event type's
+ * ID from the {@link OutboxEventTypeRegistry}; payloads above the compression threshold are compressed.
+ * Publishes an {@link OutboxEventsWrittenEvent} so the relayer can be woken up after commit.
  */
 @Component
 @RequiredArgsConstructor
@@ -22,7 +27,10 @@ import java.util.List;
 public class OutboxEventWriter {
 
     private final OutboxEventRepository outboxEventRepository;
-    private final ObjectMapper objectMapper;
+    private final OutboxPayloadSerializer payloadSerializer;
+    private final OutboxEventTypeRegistry eventTypeRegistry;
+    private final OutboxPayloadCompressor payloadCompressor;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * Saves a single domain event to the outbox table.
@@ -32,17 +40,10 @@ public class OutboxEventWriter {
      */
     public void saveEvent(DomainEvent domainEvent) {
         try {
-            String payload = serializeEvent(domainEvent);
-            String aggregateType = determineAggregateType(domainEvent);
-
-            OutboxEventJpaEntity outboxEvent = OutboxEventJpaEntity.create(
-                    domainEvent.getAggregateId(),
-                    aggregateType,
-                    domainEvent.getClass().getName(),
-                    payload
-            );
+            OutboxEventJpaEntity outboxEvent = createOutboxEvent(domainEvent);
 
             outboxEventRepository.save(outboxEvent);
+            applicationEventPublisher.publishEvent(new OutboxEventsWrittenEvent(1));
 
             log.debug("Saved domain event to outbox: eventType={}, aggregateId={}, eventId={}",
                     domainEvent.getEventType(),
@@ -75,6 +76,7 @@ public class OutboxEventWriter {
                     .toList();
 
             outboxEventRepository.saveAll(outboxEvents);
+            applicationEventPublisher.publishEvent(new OutboxEventsWrittenEvent(outboxEvents.size()));
 
             log.debug("Saved {} domain events to outbox", domainEvents.size());
 
@@ -89,25 +91,33 @@ public class OutboxEventWriter {
      * Creates an OutboxEventJpaEntity from a domain event.
      */
     private OutboxEventJpaEntity createOutboxEvent(DomainEvent domainEvent) {
-        String payload = serializeEvent(domainEvent);
+        // Resolve the type ID first so unregistered event types fail before anything is serialized
+        short eventTypeId = eventTypeRegistry.idOf(domainEvent.getClass());
+        CompressedPayload payload = payloadCompressor.compress(serializeEvent(domainEvent));
         String aggregateType = determineAggregateType(domainEvent);
 
         return OutboxEventJpaEntity.create(
+                domainEvent.getEventId() != null ? domainEvent.getEventId() : UUID.randomUUID(),
+                domainEvent.getOccurredAt(),
                 domainEvent.getAggregateId(),
                 aggregateType,
                 domainEvent.getClass().getName(),
-                payload
+                eventTypeId,
+                eventTypeRegistry.schemaVersionOf(domainEvent.getClass()),
+                payload.payload(),
+                payloadSerializer.codec().id(),
+                payload.compression().id()
         );
     }
 
     /**
-     * Serializes a domain event to JSON string.
+     * Serializes a domain event with the configured payload codec.
      */
-    private String serializeEvent(DomainEvent domainEvent) {
+    private byte[] serializeEvent(DomainEvent domainEvent) {
         try {
-            return objectMapper.writeValueAsString(domainEvent);
-        } catch (JsonProcessingException e) {
-            throw new OutboxEventException("Failed to serialize domain event to JSON", e);
+            return payloadSerializer.encode(domainEvent);
+        } catch (IOException e) {
+            throw new OutboxEventException("Failed to serialize domain event as " + payloadSerializer.codec(), e);
         }
     }
 
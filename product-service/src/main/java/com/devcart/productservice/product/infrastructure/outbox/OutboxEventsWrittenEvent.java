@@ -0,0 +1,10 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+/**
+ * Application event published by the OutboxEventWriter whenever domain events are written
+ * to the outbox table. Delivered to listeners after the surrounding transaction commits.
+ *
+ * @param eventCount Number of outbox events written
+ */
+public record OutboxEventsWrittenEvent(int eventCount) {
+}
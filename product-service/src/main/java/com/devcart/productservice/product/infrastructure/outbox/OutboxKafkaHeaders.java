@@ -0,0 +1,46 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+/**
+ * Names of the Kafka record headers attached by the OutboxEventRelayer.
+ * Header values are UTF-8 strings.
+ */
+public final class OutboxKafkaHeaders {
+
+    /**
+     * Full class name of the domain event carried in the record value.
+     */
+    public static final String EVENT_TYPE = "eventType";
+
+    /**
+     * Type of the aggregate that raised the event, e.g. Product or ProductVariant.
+     */
+    public static final String AGGREGATE_TYPE = "aggregateType";
+
+    /**
+     * ID of the domain event; stable across redeliveries, so consumers can deduplicate on it.
+     */
+    public static final String EVENT_ID = "eventId";
+
+    /**
+     * When the domain event occurred, as an ISO-8601 local date-time.
+     */
+    public static final String OCCURRED_AT = "occurredAt";
+
+    /**
+     * Schema version of the event type the payload was written with.
+     */
+    public static final String SCHEMA_VERSION = "schemaVersion";
+
+    /**
+     * Media type of the payload codec the record value is encoded with, e.g. application/cbor.
+     */
+    public static final String CONTENT_TYPE = "contentType";
+
+    /**
+     * Compression of the record value, e.g. lz4; only present when a payload is relayed compressed.
+     */
+    public static final String CONTENT_ENCODING = "contentEncoding";
+
+    private OutboxKafkaHeaders() {
+    }
+}
@@ -0,0 +1,278 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.config.OutboxKafkaConfiguration;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional Kafka producers for the exactly-once relayer mode, one per outbox slice.
+ * <p>
+ * Each relayer batch is one Kafka transaction. Together with the events, the transaction writes the IDs of
+ * every event relayed in the current database transaction to a compacted progress topic, keyed by slice.
+ * If the database commit that marks those events as published is lost, the relayer reads the slice's last
+ * committed progress record and settles the events instead of publishing them again. The IDs of the last
+ * successful commit are kept in memory, so the topic is only read when a slice is taken over or a commit
+ * failed with an unknown outcome.
+ * <p>
+ * The transactional ID is derived from the slice name, so an instance taking over a slice fences the
+ * producer of the previous owner and aborts its open transaction. Enabled with
+ * outbox.relayer.exactly-once.enabled=true; consumers must read with isolation.level=read_committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.relayer.exactly-once.enabled", havingValue = "true")
+public class OutboxKafkaTransactions {
+
+    private static final String ID_SEPARATOR = ",";
+
+    private final KafkaProperties kafkaProperties;
+    private final SslBundles sslBundles;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Producer<String, Object>> producersBySlice = new ConcurrentHashMap<>();
+    private final Map<String, Collection<UUID>> committedIdsBySlice = new ConcurrentHashMap<>();
+
+    @Value("${outbox.relayer.exactly-once.progress-topic:product-events-relayer-progress}")
+    private String progressTopic;
+
+    @Value("${outbox.relayer.exactly-once.transactional-id-prefix:product-service-outbox-}")
+    private String transactionalIdPrefix;
+
+    @Value("${outbox.relayer.exactly-once.progress-read-timeout-ms:10000}")
+    private long progressReadTimeoutMs;
+
+    /**
+     * Starts a Kafka transaction for a batch of a slice.
+     *
+     * @param sliceName     Name of the slice the batch relays
+     * @param recordFactory Turns an outbox event into the record to send
+     * @return The atomic batch
+     */
+    public OutboxTransport.Batch begin(String sliceName,
+                                       Function<OutboxEventJpaEntity, ProducerRecord<String, Object>> recordFactory) {
+        Producer<String, Object> producer = producerFor(sliceName);
+        try {
+            producer.beginTransaction();
+        } catch (KafkaException e) {
+            discardProducer(sliceName);
+            throw e;
+        }
+        return new TransactionalBatch(sliceName, producer, recordFactory);
+    }
+
+    /**
+     * Returns the IDs recorded by the last committed transaction of a slice.
+     * While this instance's producer of the slice is in use, the IDs of its last commit are returned from memory.
+     * Otherwise they are read from the progress topic after initializing the producer, which aborts any
+     * transaction a previous owner left open, so the read is not blocked behind it.
+     *
+     * @param sliceName Name of the slice
+     * @return IDs of the events relayed by the last committed transaction; empty if there is none
+     */
+    public Collection<UUID> lastCommittedBatch(String sliceName) {
+        Collection<UUID> committedIds = committedIdsBySlice.get(sliceName);
+        if (committedIds != null && producersBySlice.containsKey(sliceName)) {
+            return committedIds;
+        }
+
+        producerFor(sliceName);
+        committedIds = readLastProgress(sliceName);
+        committedIdsBySlice.put(sliceName, committedIds);
+        return committedIds;
+    }
+
+    /**
+     * Closes the producer of a slice this instance no longer owns and forgets its last commit,
+     * so the progress topic is read again if the slice comes back.
+     *
+     * @param sliceName Name of the slice
+     */
+    public void release(String sliceName) {
+        discardProducer(sliceName);
+    }
+
+    /**
+     * Reads the last progress record of a slice from the progress topic.
+     */
+    private Collection<UUID> readLastProgress(String sliceName) {
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties(sslBundles);
+        properties.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        properties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        try (Consumer<String, byte[]> consumer =
+                     new KafkaConsumer<>(properties, new StringDeserializer(), new ByteArrayDeserializer())) {
+            List<TopicPartition> partitions = consumer.partitionsFor(progressTopic).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            byte[] lastProgress = null;
+            long deadline = System.currentTimeMillis() + progressReadTimeoutMs;
+            while (partitions.stream().anyMatch(partition -> consumer.position(partition) < endOffsets.get(partition))) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("Timed out reading outbox relayer progress: slice=" + sliceName);
+                }
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(500))) {
+                    if (sliceName.equals(record.key())) {
+                        lastProgress = record.value();
+                    }
+                }
+            }
+            return decodeIds(lastProgress);
+        }
+    }
+
+    /**
+     * Closes all producers on shutdown.
+     */
+    @PreDestroy
+    void closeProducers() {
+        producersBySlice.values().forEach(Producer::close);
+        producersBySlice.clear();
+        committedIdsBySlice.clear();
+    }
+
+    private Producer<String, Object> producerFor(String sliceName) {
+        return producersBySlice.computeIfAbsent(sliceName, this::createProducer);
+    }
+
+    /**
+     * Creates and initializes the transactional producer of a slice, fencing any earlier producer
+     * with the same transactional ID.
+     */
+    private Producer<String, Object> createProducer(String sliceName) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(sslBundles);
+        properties.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, transactionalIdPrefix + sliceName);
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+
+        Producer<String, Object> producer = new KafkaProducer<>(properties, new StringSerializer(),
+                OutboxKafkaConfiguration.outboxValueSerializer(objectMapper));
+        producer.initTransactions();
+        log.info("Initialized transactional outbox producer: slice={}, transactionalId={}",
+                sliceName, transactionalIdPrefix + sliceName);
+        return producer;
+    }
+
+    /**
+     * Closes and forgets the producer of a slice after an error that leaves its transaction state unusable;
+     * the next batch creates a fresh one. The last commit is forgotten with it, since its outcome may be unknown.
+     */
+    private void discardProducer(String sliceName) {
+        committedIdsBySlice.remove(sliceName);
+        Producer<String, Object> producer = producersBySlice.remove(sliceName);
+        if (producer != null) {
+            producer.close(Duration.ZERO);
+        }
+    }
+
+    private static byte[] encodeIds(Collection<UUID> ids) {
+        return ids.stream()
+                .map(UUID::toString)
+                .collect(Collectors.joining(ID_SEPARATOR))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Collection<UUID> decodeIds(byte[] value) {
+        if (value == null || value.length == 0) {
+            return List.of();
+        }
+        return Arrays.stream(new String(value, StandardCharsets.UTF_8).split(ID_SEPARATOR))
+                .map(UUID::fromString)
+                .toList();
+    }
+
+    private static String describe(RecordMetadata metadata) {
+        return metadata.topic() + "-" + metadata.partition() + "@" + metadata.offset();
+    }
+
+    /**
+     * A relayer batch sent as one Kafka transaction.
+     */
+    @RequiredArgsConstructor
+    private class TransactionalBatch implements OutboxTransport.Batch {
+
+        private final String sliceName;
+        private final Producer<String, Object> producer;
+        private final Function<OutboxEventJpaEntity, ProducerRecord<String, Object>> recordFactory;
+
+        @Override
+        public CompletableFuture<String> send(OutboxEventJpaEntity outboxEvent) {
+            CompletableFuture<String> acknowledgement = new CompletableFuture<>();
+            producer.send(recordFactory.apply(outboxEvent), (metadata, error) -> {
+                if (error != null) {
+                    acknowledgement.completeExceptionally(error);
+                } else {
+                    acknowledgement.complete(describe(metadata));
+                }
+            });
+            return acknowledgement;
+        }
+
+        @Override
+        public boolean isAtomic() {
+            return true;
+        }
+
+        /**
+         * Writes the progress record and commits the transaction.
+         * If the commit fails its outcome is unknown; the producer is discarded and the exception rethrown,
+         * so the database transaction rolls back and the slice is recovered from the progress topic.
+         */
+        @Override
+        public void commit(Collection<UUID> relayedIds) {
+            try {
+                producer.send(new ProducerRecord<>(progressTopic, sliceName, encodeIds(relayedIds)));
+                producer.commitTransaction();
+                committedIdsBySlice.put(sliceName, List.copyOf(relayedIds));
+            } catch (KafkaException e) {
+                discardProducer(sliceName);
+                throw e;
+            }
+        }
+
+        @Override
+        public void abort() {
+            try {
+                producer.abortTransaction();
+            } catch (KafkaException e) {
+                log.warn("Failed to abort outbox Kafka transaction, discarding producer: slice={}", sliceName, e);
+                discardProducer(sliceName);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.config.OutboxConfiguration;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxRelayerLeaseJpaEntity;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxRelayerLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Coordinates relayer instances through lease rows in the outbox database.
+ * <p>
+ * The lane key space of the outbox is divided into a fixed number of slices, each guarded by a lease.
+ * Every instance heartbeats its own instance lease, derives its fair share of slices from the number
+ * of live instances, and acquires free or expired slice leases up to that share while releasing any
+ * above it. Slices of an instance that stops heartbeating expire and are picked up by the others.
+ * Cleanup is gated by a separate maintenance lease so it runs on one instance only.
+ * <p>
+ * Leases only remove contention: rows are still locked with SKIP LOCKED while they are relayed, so a
+ * slice changing hands in the middle of a batch cannot publish an event twice.
+ * Without outbox.coordination.enabled the instance owns a single slice covering all lane keys.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.relayer.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxLeaseManager {
+
+    private static final String SLICE_PREFIX = "slice-";
+    private static final String INSTANCE_PREFIX = "instance-";
+    private static final String MAINTENANCE_LEASE = "maintenance";
+    private static final String DEFAULT_SLICE = "default";
+
+    private final OutboxRelayerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.coordination.enabled:false}")
+    private boolean enabled;
+
+    @Value("${outbox.coordination.slices:16}")
+    private int sliceCount;
+
+    @Value("${outbox.coordination.lease-duration-ms:30000}")
+    private long leaseDurationMs;
+
+    @Value("${outbox.coordination.instance-id:}")
+    private String instanceId;
+
+    private List<Slice> slices;
+    private volatile Map<String, LocalDateTime> heldSlices = Map.of();
+
+    /**
+     * Derives the slices and the instance identity and makes sure all lease rows exist.
+     */
+    @PostConstruct
+    void initialize() {
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+
+        if (!enabled) {
+            slices = List.of(new Slice(DEFAULT_SLICE,
+                    IntStream.range(0, OutboxEventJpaEntity.LANE_KEY_SPACE).boxed().toList()));
+            return;
+        }
+
+        int count = Math.clamp(sliceCount, 1, OutboxEventJpaEntity.LANE_KEY_SPACE);
+        slices = IntStream.range(0, count)
+                .mapToObj(slice -> new Slice(SLICE_PREFIX + slice, IntStream
+                        .range(slice * OutboxEventJpaEntity.LANE_KEY_SPACE / count,
+                                (slice + 1) * OutboxEventJpaEntity.LANE_KEY_SPACE / count)
+                        .boxed()
+                        .toList()))
+                .toList();
+
+        slices.forEach(slice -> createLeaseIfMissing(slice.name()));
+        createLeaseIfMissing(MAINTENANCE_LEASE);
+        createLeaseIfMissing(INSTANCE_PREFIX + instanceId);
+        log.info("Outbox relayer coordination enabled: instanceId={}, slices={}", instanceId, count);
+    }
+
+    /**
+     * Releases every lease of this instance on shutdown so peers can take over immediately.
+     */
+    @PreDestroy
+    void releaseLeases() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                heldSlices.keySet().forEach(name -> leaseRepository.release(name, instanceId, now));
+                leaseRepository.release(MAINTENANCE_LEASE, instanceId, now);
+                leaseRepository.release(INSTANCE_PREFIX + instanceId, instanceId, now);
+            });
+            heldSlices = Map.of();
+        } catch (Exception e) {
+            log.warn("Could not release outbox relayer leases on shutdown", e);
+        }
+    }
+
+    /**
+     * Returns the slices this instance may relay right now.
+     * A slice counts as owned until a third of the lease duration before its expiry,
+     * leaving room for a batch to finish before a peer can take the slice over.
+     */
+    public List<Slice> ownedSlices() {
+        if (!enabled) {
+            return slices;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, LocalDateTime> held = heldSlices;
+        return slices.stream()
+                .filter(slice -> {
+                    LocalDateTime ownedUntil = held.get(slice.name());
+                    return ownedUntil != null && ownedUntil.isAfter(now);
+                })
+                .toList();
+    }
+
+    /**
+     * Tries to take the maintenance lease for one lease duration.
+     * Inside a transaction the lease row stays locked until it ends, so peers wait and then see it taken.
+     *
+     * @return Whether this instance may run maintenance now
+     */
+    public boolean acquireMaintenanceLease() {
+        if (!enabled) {
+            return true;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status -> leaseRepository.tryAcquire(
+                MAINTENANCE_LEASE, instanceId, now.plus(leaseDurationMs, ChronoUnit.MILLIS), now));
+        return acquired != null && acquired == 1;
+    }
+
+    /**
+     * Renews the leases of this instance and rebalances slices towards a fair share.
+     * Runs every 10 seconds by default, which should stay well below the lease duration.
+     */
+    @Scheduled(fixedDelayString = "${outbox.coordination.heartbeat-interval-ms:10000}",
+            scheduler = OutboxConfiguration.RELAYER_SCHEDULER)
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Map<String, LocalDateTime> held = transactionTemplate.execute(status -> rebalance());
+            heldSlices = held != null ? held : Map.of();
+        } catch (Exception e) {
+            log.error("Error renewing outbox relayer leases", e);
+        }
+    }
+
+    private Map<String, LocalDateTime> rebalance() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(leaseDurationMs, ChronoUnit.MILLIS);
+        LocalDateTime ownedUntil = expiresAt.minus(leaseDurationMs / 3, ChronoUnit.MILLIS);
+
+        String instanceLease = INSTANCE_PREFIX + instanceId;
+        if (!leaseRepository.existsById(instanceLease)) {
+            leaseRepository.save(OutboxRelayerLeaseJpaEntity.create(instanceLease));
+        }
+        leaseRepository.tryAcquire(instanceLease, instanceId, expiresAt, now);
+        leaseRepository.deleteExpiredLeases(INSTANCE_PREFIX, now.minus(leaseDurationMs * 10, ChronoUnit.MILLIS));
+
+        long liveInstances = Math.max(1, leaseRepository.countLiveLeases(INSTANCE_PREFIX, now));
+        int fairShare = (int) ((slices.size() + liveInstances - 1) / liveInstances);
+
+        List<String> held = new ArrayList<>(leaseRepository.findHeldLeaseNames(SLICE_PREFIX, instanceId, now));
+        held.sort(Comparator.naturalOrder());
+        held.removeIf(name -> leaseRepository.tryAcquire(name, instanceId, expiresAt, now) == 0);
+
+        while (held.size() > fairShare) {
+            String released = held.removeLast();
+            leaseRepository.release(released, instanceId, now);
+            log.info("Released outbox slice lease for rebalancing: slice={}, instanceId={}", released, instanceId);
+        }
+
+        if (held.size() < fairShare) {
+            for (String available : leaseRepository.findAvailableLeaseNames(SLICE_PREFIX, now)) {
+                if (held.size() >= fairShare) {
+                    break;
+                }
+                if (leaseRepository.tryAcquire(available, instanceId, expiresAt, now) == 1) {
+                    held.add(available);
+                    log.info("Acquired outbox slice lease: slice={}, instanceId={}", available, instanceId);
+                }
+            }
+        }
+
+        Map<String, LocalDateTime> ownedSlices = new HashMap<>();
+        held.forEach(name -> ownedSlices.put(name, ownedUntil));
+        return Map.copyOf(ownedSlices);
+    }
+
+    private void createLeaseIfMissing(String name) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!leaseRepository.existsById(name)) {
+                    leaseRepository.saveAndFlush(OutboxRelayerLeaseJpaEntity.create(name));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Outbox relayer lease created concurrently: name={}", name);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "relayer";
+        }
+    }
+
+    /**
+     * A slice of the lane key space relayed by one instance at a time, with its own cursor.
+     *
+     * @param name     Lease and cursor name of the slice
+     * @param laneKeys Lane keys covered by the slice
+     */
+    public record Slice(String name, List<Integer> laneKeys) {
+    }
+}
@@ -0,0 +1,207 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.config.OutboxConfiguration;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxDeadLetterEventRepository;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventRepository;
+import io.micrometer.core.instrument.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records Micrometer metrics for the outbox pipeline.
+ * Backlog gauges are kept up incrementally from committed writes and relayer outcomes,
+ * and periodically reconciled with the database to correct drift, e.g. from other instances.
+ * All meters are exposed through the actuator metrics endpoint.
+ */
+@Component
+@Slf4j
+public class OutboxMetricsRecorder {
+
+    private static final String EVENT_TYPE_TAG = "eventType";
+
+    private final MeterRegistry meterRegistry;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeadLetterEventRepository deadLetterRepository;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final AtomicLong deadLetterEvents = new AtomicLong();
+
+    private final Timer lagTimer;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer sendSuccessTimer;
+    private final Timer sendFailureTimer;
+    private final Map<String, Counter> publishedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+    public OutboxMetricsRecorder(MeterRegistry meterRegistry,
+                                 OutboxEventRepository outboxEventRepository,
+                                 OutboxDeadLetterEventRepository deadLetterRepository) {
+        this.meterRegistry = meterRegistry;
+        this.outboxEventRepository = outboxEventRepository;
+        this.deadLetterRepository = deadLetterRepository;
+
+        Gauge.builder("outbox.backlog", pendingEvents, AtomicLong::get)
+                .description("Outbox events by status")
+                .tag("status", "pending")
+                .register(meterRegistry);
+        Gauge.builder("outbox.backlog", failedEvents, AtomicLong::get)
+                .description("Outbox events by status")
+                .tag("status", "failed")
+                .register(meterRegistry);
+        Gauge.builder("outbox.backlog", deadLetterEvents, AtomicLong::get)
+                .description("Outbox events by status")
+                .tag("status", "dead_letter")
+                .register(meterRegistry);
+
+        lagTimer = Timer.builder("outbox.relay.lag")
+                .description("Time from writing an outbox event to its Kafka acknowledgement")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchTimer = Timer.builder("outbox.relay.batch.duration")
+                .description("Time to publish and acknowledge one batch of outbox events")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Number of outbox events per relayed batch")
+                .baseUnit("events")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        sendSuccessTimer = sendTimer("success");
+        sendFailureTimer = sendTimer("failure");
+    }
+
+    /**
+     * Counts events written by a committed transaction into the pending backlog.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOutboxEventsWritten(OutboxEventsWrittenEvent event) {
+        pendingEvents.addAndGet(event.eventCount());
+    }
+
+    /**
+     * Adjusts the backlog gauges once the current transaction commits.
+     * Applied immediately when no transaction is active.
+     */
+    public void adjustBacklog(long pendingDelta, long failedDelta, long deadLetterDelta) {
+        if (pendingDelta == 0 && failedDelta == 0 && deadLetterDelta == 0) {
+            return;
+        }
+        Runnable adjustment = () -> {
+            pendingEvents.addAndGet(pendingDelta);
+            failedEvents.addAndGet(failedDelta);
+            deadLetterEvents.addAndGet(deadLetterDelta);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adjustment.run();
+                }
+            });
+        } else {
+            adjustment.run();
+        }
+    }
+
+    /**
+     * Records a successfully acknowledged event: throughput by event type and end-to-end lag.
+     */
+    public void recordPublished(String eventType, LocalDateTime createdAt, LocalDateTime acknowledgedAt) {
+        publishedCounters.computeIfAbsent(eventTypeTag(eventType), tag -> Counter.builder("outbox.events.published")
+                        .description("Outbox events acknowledged by Kafka")
+                        .tag(EVENT_TYPE_TAG, tag)
+                        .register(meterRegistry))
+                .increment();
+        lagTimer.record(Duration.between(createdAt, acknowledgedAt));
+    }
+
+    /**
+     * Records a failed delivery attempt by event type.
+     */
+    public void recordFailed(String eventType) {
+        failedCounters.computeIfAbsent(eventTypeTag(eventType), tag -> Counter.builder("outbox.events.failed")
+                        .description("Failed outbox delivery attempts")
+                        .tag(EVENT_TYPE_TAG, tag)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * Records an event that was superseded by a later one and not published, by event type.
+     */
+    public void recordCoalesced(String eventType) {
+        coalescedCounters.computeIfAbsent(eventTypeTag(eventType), tag -> Counter.builder("outbox.events.coalesced")
+                        .description("Outbox events superseded by a later event of the same aggregate")
+                        .tag(EVENT_TYPE_TAG, tag)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * Records the duration and size of one relayed batch.
+     */
+    public void recordBatch(int eventCount, long durationNanos) {
+        batchTimer.record(Duration.ofNanos(durationNanos));
+        batchSizeSummary.record(eventCount);
+    }
+
+    /**
+     * Records the latency of a single Kafka send, from handing it to the producer to its completion.
+     */
+    public void recordSend(long durationNanos, boolean success) {
+        (success ? sendSuccessTimer : sendFailureTimer).record(Duration.ofNanos(durationNanos));
+    }
+
+    /**
+     * Returns the current backlog as seen by the gauges.
+     */
+    public OutboxEventRelayer.OutboxMetrics snapshot() {
+        return new OutboxEventRelayer.OutboxMetrics(pendingEvents.get(), failedEvents.get(), deadLetterEvents.get());
+    }
+
+    /**
+     * Resets the backlog gauges from the database.
+     * Runs once on startup and then every reconcile interval (5 minutes by default).
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${outbox.metrics.reconcile-interval-ms:300000}",
+            scheduler = OutboxConfiguration.MAINTENANCE_SCHEDULER)
+    public void reconcileBacklog() {
+        try {
+            pendingEvents.set(outboxEventRepository.countPendingEvents());
+            failedEvents.set(outboxEventRepository.countFailedEvents());
+            deadLetterEvents.set(deadLetterRepository.count());
+        } catch (Exception e) {
+            log.error("Error reconciling outbox backlog metrics", e);
+        }
+    }
+
+    private Timer sendTimer(String result) {
+        return Timer.builder("outbox.kafka.send")
+                .description("Latency of Kafka sends for outbox events")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Uses the simple class name of the event type as tag value to keep tags short.
+     */
+    private static String eventTypeTag(String eventType) {
+        return eventType.substring(eventType.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.config.OutboxKafkaConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kafka producer for outbox records in PASS_THROUGH payload mode, whose values are the stored payload bytes.
+ * It has its own producer factory with the outbox value serializer, built from the spring.kafka.producer settings,
+ * so the application's auto-configured KafkaTemplate and its configured value serializer stay untouched.
+ * It is deliberately not a KafkaTemplate bean, which would make the auto-configured template back off.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relayer.payload-mode", havingValue = "PASS_THROUGH")
+public class OutboxPassThroughProducer implements DisposableBean {
+
+    private final DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public OutboxPassThroughProducer(KafkaProperties kafkaProperties, SslBundles sslBundles,
+                                     ObjectMapper objectMapper) {
+        this.producerFactory = new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(sslBundles),
+                new StringSerializer(), OutboxKafkaConfiguration.outboxValueSerializer(objectMapper));
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Sends an outbox record.
+     */
+    public CompletableFuture<SendResult<String, Object>> send(ProducerRecord<String, Object> record) {
+        return kafkaTemplate.send(record);
+    }
+
+    /**
+     * Closes the producer on shutdown.
+     */
+    @Override
+    public void destroy() {
+        producerFactory.destroy();
+    }
+}
@@ -0,0 +1,49 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import java.util.Arrays;
+
+/**
+ * Encoding of a stored outbox payload. The ID is persisted in the payload_codec column,
+ * so existing values must never change.
+ */
+public enum OutboxPayloadCodec {
+
+    /**
+     * Plain JSON; the largest encoding but readable in the database, kept for debugging.
+     */
+    JSON(0, "application/json"),
+    /**
+     * Concise Binary Object Representation (RFC 8949).
+     */
+    CBOR(1, "application/cbor"),
+    /**
+     * Jackson's binary JSON format with back-references for repeated names.
+     */
+    SMILE(2, "application/x-jackson-smile");
+
+    private final short id;
+    private final String contentType;
+
+    OutboxPayloadCodec(int id, String contentType) {
+        this.id = (short) id;
+        this.contentType = contentType;
+    }
+
+    public short id() {
+        return id;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Resolves a codec from its persisted ID.
+     */
+    public static OutboxPayloadCodec fromId(short id) {
+        return Arrays.stream(values())
+                .filter(codec -> codec.id == id)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown outbox payload codec: " + id));
+    }
+}
@@ -0,0 +1,48 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import java.util.Arrays;
+
+/**
+ * Compression applied to a stored outbox payload on top of its {@link OutboxPayloadCodec}.
+ * The ID is persisted in the payload_compression column, so existing values must never change.
+ */
+public enum OutboxPayloadCompression {
+
+    /**
+     * Payload is stored as encoded.
+     */
+    NONE(0, null),
+    /**
+     * LZ4 block, prefixed with the uncompressed length as a 4-byte big-endian integer.
+     */
+    LZ4(1, "lz4");
+
+    private final short id;
+    private final String contentEncoding;
+
+    OutboxPayloadCompression(int id, String contentEncoding) {
+        this.id = (short) id;
+        this.contentEncoding = contentEncoding;
+    }
+
+    public short id() {
+        return id;
+    }
+
+    /**
+     * Returns the name sent in the contentEncoding header when a payload is relayed compressed.
+     */
+    public String contentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Resolves a compression from its persisted ID.
+     */
+    public static OutboxPayloadCompression fromId(short id) {
+        return Arrays.stream(values())
+                .filter(compression -> compression.id == id)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown outbox payload compression: " + id));
+    }
+}
@@ -0,0 +1,93 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compresses encoded outbox payloads above a size threshold and restores them for relaying.
+ * Small payloads are stored as they are: below the threshold the saving does not pay for the
+ * extra work on the write path. A payload is only stored compressed if that actually makes it smaller.
+ */
+@Component
+public class OutboxPayloadCompressor {
+
+    private static final int LENGTH_PREFIX_BYTES = Integer.BYTES;
+
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4SafeDecompressor decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+
+    private final OutboxPayloadCompression compression;
+    private final int thresholdBytes;
+
+    public OutboxPayloadCompressor(@Value("${outbox.payload.compression.algorithm:LZ4}") OutboxPayloadCompression compression,
+                                   @Value("${outbox.payload.compression.threshold-bytes:1024}") int thresholdBytes) {
+        this.compression = compression;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    /**
+     * Compresses an encoded payload if it is larger than the threshold.
+     *
+     * @param payload Encoded payload
+     * @return The payload to store and the compression applied to it
+     */
+    public CompressedPayload compress(byte[] payload) {
+        if (compression == OutboxPayloadCompression.NONE || payload.length <= thresholdBytes) {
+            return new CompressedPayload(payload, OutboxPayloadCompression.NONE);
+        }
+
+        byte[] compressed = new byte[LENGTH_PREFIX_BYTES + compressor.maxCompressedLength(payload.length)];
+        ByteBuffer.wrap(compressed).putInt(payload.length);
+        int compressedLength = compressor.compress(payload, 0, payload.length,
+                compressed, LENGTH_PREFIX_BYTES, compressed.length - LENGTH_PREFIX_BYTES);
+
+        int storedLength = LENGTH_PREFIX_BYTES + compressedLength;
+        if (storedLength >= payload.length) {
+            return new CompressedPayload(payload, OutboxPayloadCompression.NONE);
+        }
+        byte[] stored = new byte[storedLength];
+        System.arraycopy(compressed, 0, stored, 0, storedLength);
+        return new CompressedPayload(stored, OutboxPayloadCompression.LZ4);
+    }
+
+    /**
+     * Restores a stored payload to its encoded form.
+     *
+     * @param payload            Stored payload
+     * @param payloadCompression Compression the payload was stored with
+     * @return The encoded payload
+     */
+    public byte[] decompress(byte[] payload, OutboxPayloadCompression payloadCompression) {
+        if (payloadCompression == OutboxPayloadCompression.NONE) {
+            return payload;
+        }
+
+        byte[] restored = new byte[ByteBuffer.wrap(payload).getInt()];
+        int restoredLength = decompressor.decompress(payload, LENGTH_PREFIX_BYTES, payload.length - LENGTH_PREFIX_BYTES,
+                restored, 0);
+        if (restoredLength != restored.length) {
+            throw new IllegalStateException("Corrupt compressed outbox payload: expected " + restored.length
+                    + " bytes, got " + restoredLength);
+        }
+        return restored;
+    }
+
+    /**
+     * Restores the stored payload of an outbox event to its encoded form.
+     */
+    public byte[] decompress(OutboxEventJpaEntity outboxEvent) {
+        return decompress(outboxEvent.getPayload(), OutboxPayloadCompression.fromId(outboxEvent.getPayloadCompression()));
+    }
+
+    /**
+     * A payload as stored, with the compression applied to it.
+     */
+    public record CompressedPayload(byte[] payload, OutboxPayloadCompression compression) {
+    }
+}
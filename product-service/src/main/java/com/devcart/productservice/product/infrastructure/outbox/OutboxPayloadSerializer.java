@@ -0,0 +1,77 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Encodes outbox payloads with the configured {@link OutboxPayloadCodec} and decodes them with the codec
+ * they were stored with. The binary codecs reuse the application ObjectMapper's configuration
+ * (modules, date handling), so all codecs produce the same data model.
+ */
+@Component
+public class OutboxPayloadSerializer {
+
+    private final Map<OutboxPayloadCodec, ObjectMapper> mappers = new EnumMap<>(OutboxPayloadCodec.class);
+    private final OutboxPayloadCodec codec;
+
+    public OutboxPayloadSerializer(ObjectMapper objectMapper,
+                                   @Value("${outbox.payload.codec:CBOR}") OutboxPayloadCodec codec) {
+        this.codec = codec;
+        mappers.put(OutboxPayloadCodec.JSON, objectMapper);
+        mappers.put(OutboxPayloadCodec.CBOR, objectMapper.copyWith(new CBORFactory()));
+        mappers.put(OutboxPayloadCodec.SMILE, objectMapper.copyWith(new SmileFactory()));
+    }
+
+    /**
+     * Returns the codec new payloads are encoded with.
+     */
+    public OutboxPayloadCodec codec() {
+        return codec;
+    }
+
+    /**
+     * Encodes a value with the configured codec.
+     */
+    public byte[] encode(Object value) throws IOException {
+        return mappers.get(codec).writeValueAsBytes(value);
+    }
+
+    /**
+     * Decodes a stored payload into the given type.
+     */
+    public <T> T decode(byte[] payload, OutboxPayloadCodec payloadCodec, Class<T> type) throws IOException {
+        return mappers.get(payloadCodec).readValue(payload, type);
+    }
+
+    /**
+     * Reads a stored payload as a tree.
+     */
+    public JsonNode readTree(byte[] payload, OutboxPayloadCodec payloadCodec) throws IOException {
+        return mappers.get(payloadCodec).readTree(payload);
+    }
+
+    /**
+     * Writes a tree with the given codec.
+     */
+    public byte[] writeTree(JsonNode tree, OutboxPayloadCodec payloadCodec) throws IOException {
+        return mappers.get(payloadCodec).writeValueAsBytes(tree);
+    }
+
+    /**
+     * Transcodes a stored payload to JSON; JSON payloads are returned as they are.
+     */
+    public byte[] toJson(byte[] payload, OutboxPayloadCodec payloadCodec) throws IOException {
+        if (payloadCodec == OutboxPayloadCodec.JSON) {
+            return payload;
+        }
+        return writeTree(readTree(payload, payloadCodec), OutboxPayloadCodec.JSON);
+    }
+}
@@ -0,0 +1,47 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides when a failed outbox event is attempted again.
+ * Uses exponential backoff with jitter so that events failing together, e.g. during a broker
+ * outage, are retried spread out over time instead of all at once.
+ */
+@Component
+public class OutboxRetryPolicy {
+
+    @Value("${outbox.relayer.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${outbox.relayer.retry.initial-delay-ms:30000}")
+    private long initialDelayMs;
+
+    @Value("${outbox.relayer.retry.max-delay-ms:3600000}")
+    private long maxDelayMs;
+
+    /**
+     * Computes the next attempt time of an event that has just failed.
+     * The delay doubles with every attempt up to the maximum; the actual delay is drawn
+     * uniformly from the upper half of it.
+     *
+     * @param deliveryAttempts Number of failed attempts including the one that just failed
+     * @param failedAt         Time of the failed attempt
+     * @return The next attempt time, or null if the event has exhausted its retries
+     */
+    public LocalDateTime nextAttemptAt(int deliveryAttempts, LocalDateTime failedAt) {
+        if (deliveryAttempts >= maxRetries) {
+            return null;
+        }
+
+        int exponent = Math.min(Math.max(deliveryAttempts - 1, 0), 30);
+        long delayMs = Math.min(maxDelayMs, initialDelayMs << exponent);
+        long jitteredDelayMs = delayMs / 2 + ThreadLocalRandom.current().nextLong(delayMs / 2 + 1);
+
+        return failedAt.plus(jitteredDelayMs, ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,88 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Destination the OutboxEventRelayer hands outbox events to.
+ * Selected with outbox.relayer.transport; Kafka is the default.
+ */
+public interface OutboxTransport {
+
+    /**
+     * Sends a single outbox event without waiting for it to be acknowledged.
+     * Events of the same aggregate must be delivered in the order they are sent.
+     *
+     * @param outboxEvent Event to send
+     * @return Future completing with a description of where the event was stored once it is acknowledged
+     */
+    CompletableFuture<String> send(OutboxEventJpaEntity outboxEvent);
+
+    /**
+     * Opens a batch of sends for one slice of the outbox.
+     * By default every send stands on its own and the batch is not atomic.
+     *
+     * @param sliceName Name of the slice the batch relays
+     * @return The batch to send the slice's events through
+     */
+    default Batch beginBatch(String sliceName) {
+        return this::send;
+    }
+
+    /**
+     * Returns the IDs of the events relayed by the last committed atomic batch of a slice.
+     * Used after a crash or failed database commit to settle events the destination already has.
+     *
+     * @param sliceName Name of the slice
+     * @return IDs of the relayed events; empty for transports without atomic batches
+     */
+    default Collection<UUID> lastCommittedBatch(String sliceName) {
+        return List.of();
+    }
+
+    /**
+     * Releases what the transport holds for a slice this instance no longer owns.
+     *
+     * @param sliceName Name of the slice
+     */
+    default void releaseSlice(String sliceName) {
+    }
+
+    /**
+     * Sends of one relayer batch. Atomic batches make their events visible all at once on {@link #commit}
+     * and record the relayed event IDs with them, or discard them all on {@link #abort}.
+     */
+    @FunctionalInterface
+    interface Batch {
+
+        /**
+         * Sends a single outbox event as part of the batch, like {@link OutboxTransport#send}.
+         */
+        CompletableFuture<String> send(OutboxEventJpaEntity outboxEvent);
+
+        /**
+         * Whether the batch's events become visible atomically on commit.
+         */
+        default boolean isAtomic() {
+            return false;
+        }
+
+        /**
+         * Makes the batch's events visible, recording the given event IDs as relayed in the same step.
+         *
+         * @param relayedIds IDs of every event relayed within the current database transaction
+         */
+        default void commit(Collection<UUID> relayedIds) {
+        }
+
+        /**
+         * Discards the batch's events.
+         */
+        default void abort() {
+        }
+    }
+}
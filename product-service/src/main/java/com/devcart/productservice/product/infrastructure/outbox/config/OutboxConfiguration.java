@@ -3,18 +3,32 @@ package com.devcart.productservice.product.infrastructure.outbox.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 /**
  * Configuration class for the Outbox Pattern implementation.
  * Provides necessary beans and enables scheduling for the OutboxEventRelayer.
+ * Delivery and maintenance jobs run on separate schedulers, so a slow cleanup never delays relaying.
  */
 @Configuration
 @EnableScheduling
 public class OutboxConfiguration {
 
+    /**
+     * Scheduler for the jobs that keep events flowing: the relayer's safety-net poll and the lease heartbeat.
+     */
+    public static final String RELAYER_SCHEDULER = "outboxRelayerScheduler";
+
+    /**
+     * Scheduler for housekeeping: cleanup, dead-letter sweeps, partition maintenance and gauge reconciliation.
+     */
+    public static final String MAINTENANCE_SCHEDULER = "outboxMaintenanceScheduler";
+
     /**
      * Configures ObjectMapper for JSON serialization/deserialization of domain events.
      * Includes JSR310 module for LocalDateTime support and other time-based types.
@@ -34,4 +48,39 @@ public class OutboxConfiguration {
 
         return mapper;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Default scheduler for scheduled jobs outside the outbox, configured by spring.task.scheduling.
+     * Declared explicitly because the outbox schedulers below replace the auto-configured one otherwise.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Scheduler for the relayer's own jobs: the safety-net poll and the lease heartbeat.
+     * Fixed-delay tasks run on the scheduling threads themselves, so there is one thread per job;
+     * a heartbeat waiting on a slow lease query never delays the poll tick and vice versa.
+     */
+    @Bean(name = RELAYER_SCHEDULER)
+    public ThreadPoolTaskScheduler outboxRelayerScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("outbox-relayer-scheduler-");
+        return scheduler;
+    }
+
+    /**
+     * Bounded pool for the outbox maintenance jobs; long-running bulk statements queue up here
+     * instead of occupying the threads delivery depends on.
+     */
+    @Bean(name = MAINTENANCE_SCHEDULER)
+    public ThreadPoolTaskScheduler outboxMaintenanceScheduler(
+            @Value("${outbox.maintenance.pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("outbox-maintenance-");
+        return scheduler;
+    }
+}
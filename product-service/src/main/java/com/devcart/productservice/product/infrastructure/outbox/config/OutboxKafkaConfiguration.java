@@ -0,0 +1,52 @@
+package com.devcart.productservice.product.infrastructure.outbox.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kafka producer configuration for the outbox relayer.
+ * Provides the value serializer of the producers dedicated to outbox records, which send pre-serialized
+ * payloads as raw bytes; the application's auto-configured producer factory is left as configured.
+ */
+@Configuration
+@ConditionalOnClass(DefaultKafkaProducerFactory.class)
+public class OutboxKafkaConfiguration {
+
+    /**
+     * Compacted topic the exactly-once relayer commits its progress to, one record per outbox slice.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "outbox.relayer.exactly-once.enabled", havingValue = "true")
+    public NewTopic outboxRelayerProgressTopic(
+            @Value("${outbox.relayer.exactly-once.progress-topic:product-events-relayer-progress}") String topic) {
+        return TopicBuilder.name(topic)
+                .partitions(1)
+                .compact()
+                .build();
+    }
+
+    /**
+     * Creates the value serializer used for outbox records: byte arrays are written unchanged,
+     * everything else is serialized as JSON with the given ObjectMapper.
+     */
+    public static Serializer<Object> outboxValueSerializer(ObjectMapper objectMapper) {
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(Object.class, new JsonSerializer<>(objectMapper).noTypeInfo());
+        return new DelegatingByTypeSerializer(delegates, true);
+    }
+}
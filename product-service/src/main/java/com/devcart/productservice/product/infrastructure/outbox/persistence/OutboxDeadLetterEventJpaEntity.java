@@ -0,0 +1,81 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA entity for an outbox event that exhausted its delivery attempts.
+ * Rows are moved here from the outbox table by the relayer and stay until they are
+ * replayed, so the hot outbox table only holds events that can still be delivered.
+ */
+@Entity
+@Table(name = "outbox_dead_letter_events", indexes = {
+        @Index(name = "idx_outbox_dl_sequence", columnList = "sequenceNumber"),
+        @Index(name = "idx_outbox_dl_type_sequence", columnList = "eventType, sequenceNumber"),
+        @Index(name = "idx_outbox_dl_aggregate", columnList = "aggregateId"),
+        @Index(name = "idx_outbox_dl_created", columnList = "createdAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxDeadLetterEventJpaEntity {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    /**
+     * Sequence number the event had in the outbox; replays re-inject events in this order.
+     */
+    @Column(name = "sequence_number", nullable = false)
+    private Long sequenceNumber;
+
+    @Column(name = "aggregate_type", nullable = false, length = 100)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "lane_key", nullable = false)
+    private Integer laneKey;
+
+    @Column(name = "event_type", nullable = false, length = 255)
+    private String eventType;
+
+    @Column(name = "event_type_id")
+    private Short eventTypeId;
+
+    @Column(name = "schema_version", nullable = false)
+    private Short schemaVersion;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "BYTEA")
+    private byte[] payload;
+
+    @Column(name = "payload_codec", nullable = false)
+    private Short payloadCodec;
+
+    @Column(name = "payload_compression", nullable = false)
+    private Short payloadCompression;
+
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivery_attempts", nullable = false)
+    private Integer deliveryAttempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "dead_lettered_at", nullable = false)
+    private LocalDateTime deadLetteredAt;
+}
@@ -0,0 +1,72 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for OutboxDeadLetterEventJpaEntity.
+ * Moves exhausted events out of the outbox table and re-injects them on replay,
+ * both as set-based statements so large volumes never pass through the application.
+ */
+@Repository
+public interface OutboxDeadLetterEventRepository
+        extends JpaRepository<OutboxDeadLetterEventJpaEntity, UUID>, OutboxDeadLetterReplayRepository {
+
+    /**
+     * Copies the given exhausted outbox events into the dead-letter table.
+     * Only rows that are FAILED without a next attempt are copied.
+     *
+     * @param ids            IDs of the exhausted outbox events
+     * @param deadLetteredAt Time the events are dead-lettered
+     * @return Number of copied events
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO outbox_dead_letter_events (id, sequence_number, aggregate_type, aggregate_id, " +
+            "lane_key, event_type, event_type_id, schema_version, payload, payload_codec, payload_compression, " +
+            "occurred_at, created_at, delivery_attempts, last_error, dead_lettered_at) " +
+            "SELECT e.id, e.sequence_number, e.aggregate_type, e.aggregate_id, e.lane_key, e.event_type, " +
+            "e.event_type_id, e.schema_version, e.payload, e.payload_codec, e.payload_compression, " +
+            "e.occurred_at, e.created_at, e.delivery_attempts, e.last_error, :deadLetteredAt FROM outbox_events e " +
+            "WHERE e.id IN :ids AND e.status = 'FAILED' AND e.next_attempt_at IS NULL",
+            nativeQuery = true)
+    int copyFromOutbox(@Param("ids") Collection<UUID> ids,
+                       @Param("deadLetteredAt") LocalDateTime deadLetteredAt);
+
+    /**
+     * Re-inserts the given dead-lettered events into the outbox table as fresh PENDING events.
+     * They receive a new sequence number and creation time so the relayer picks them up
+     * above its cursor and they land in a current partition.
+     *
+     * @param ids        IDs of the dead-lettered events
+     * @param replayedAt Time of the replay
+     * @return Number of re-inserted events
+     */
+    @Modifying
+    @Query(value = "INSERT INTO outbox_events (id, aggregate_type, aggregate_id, lane_key, event_type, " +
+            "event_type_id, schema_version, payload, payload_codec, payload_compression, occurred_at, created_at, " +
+            "status, delivery_attempts) " +
+            "SELECT d.id, d.aggregate_type, d.aggregate_id, d.lane_key, d.event_type, d.event_type_id, " +
+            "d.schema_version, d.payload, d.payload_codec, d.payload_compression, d.occurred_at, :replayedAt, " +
+            "'PENDING', 0 " +
+            "FROM outbox_dead_letter_events d WHERE d.id IN :ids ORDER BY d.sequence_number ASC",
+            nativeQuery = true)
+    int copyToOutbox(@Param("ids") Collection<UUID> ids,
+                     @Param("replayedAt") LocalDateTime replayedAt);
+
+    /**
+     * Deletes the given dead-lettered events.
+     *
+     * @param ids IDs of the events to delete
+     * @return Number of deleted events
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxDeadLetterEventJpaEntity d WHERE d.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+}
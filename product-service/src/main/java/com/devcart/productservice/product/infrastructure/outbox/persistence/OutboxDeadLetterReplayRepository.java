@@ -0,0 +1,30 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Replay selection of the dead-letter table.
+ * The query is built from the filters actually given, so a replay by event type can seek
+ * idx_outbox_dl_type_sequence and a replay by aggregate idx_outbox_dl_aggregate.
+ */
+public interface OutboxDeadLetterReplayRepository {
+
+    /**
+     * Finds the next chunk of dead-lettered event IDs matching the replay filter, in sequence order.
+     * Every filter parameter is optional; a null value matches all events.
+     *
+     * @param eventType     Fully qualified event type, or null
+     * @param aggregateId   Aggregate ID, or null
+     * @param createdFrom   Inclusive lower bound on the original creation time, or null
+     * @param createdBefore Exclusive upper bound on the original creation time, or null
+     * @param limit         Maximum number of IDs
+     * @return IDs of the matching events
+     */
+    List<UUID> findIdsForReplay(String eventType,
+                                UUID aggregateId,
+                                LocalDateTime createdFrom,
+                                LocalDateTime createdBefore,
+                                int limit);
+}
@@ -0,0 +1,56 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Criteria implementation of OutboxDeadLetterReplayRepository, picked up by Spring Data as a fragment of
+ * OutboxDeadLetterEventRepository. Only the given filters become predicates; values are bound as parameters.
+ */
+class OutboxDeadLetterReplayRepositoryImpl implements OutboxDeadLetterReplayRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UUID> findIdsForReplay(String eventType,
+                                       UUID aggregateId,
+                                       LocalDateTime createdFrom,
+                                       LocalDateTime createdBefore,
+                                       int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<OutboxDeadLetterEventJpaEntity> event = query.from(OutboxDeadLetterEventJpaEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (eventType != null) {
+            predicates.add(cb.equal(event.get("eventType"), eventType));
+        }
+        if (aggregateId != null) {
+            predicates.add(cb.equal(event.get("aggregateId"), aggregateId));
+        }
+        if (createdFrom != null) {
+            predicates.add(cb.greaterThanOrEqualTo(event.get("createdAt"), createdFrom));
+        }
+        if (createdBefore != null) {
+            predicates.add(cb.lessThan(event.get("createdAt"), createdBefore));
+        }
+
+        query.select(event.get("id"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(event.get("sequenceNumber")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
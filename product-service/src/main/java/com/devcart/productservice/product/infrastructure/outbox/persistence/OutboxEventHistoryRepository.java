@@ -0,0 +1,30 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event-history reads of the outbox.
+ * The query is built from the filters actually given, so every filter combination gets its own statement that
+ * can seek the matching index instead of one catch-all statement whose plan has to cover all of them.
+ */
+public interface OutboxEventHistoryRepository {
+
+    /**
+     * Reads one page of event history, newest first, as payload-free summaries.
+     * Pages are chained by sequence number, so each page costs one bounded index range scan
+     * however deep into the history it is. Every filter parameter is optional; a null value matches all events.
+     *
+     * @param aggregateId    Aggregate ID, or null
+     * @param aggregateType  Aggregate type, or null
+     * @param status         Event status, or null
+     * @param beforeSequence Only return events with a lower sequence number (the cursor), or null for the newest
+     * @param limit          Maximum number of events
+     * @return Summaries of the matching events in descending sequence order
+     */
+    List<OutboxEventSummary> findHistory(UUID aggregateId,
+                                         String aggregateType,
+                                         OutboxEventJpaEntity.OutboxEventStatus status,
+                                         Long beforeSequence,
+                                         int limit);
+}
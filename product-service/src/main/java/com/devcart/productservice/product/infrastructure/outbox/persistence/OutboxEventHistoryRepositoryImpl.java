@@ -0,0 +1,59 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Criteria implementation of OutboxEventHistoryRepository, picked up by Spring Data as a fragment of
+ * OutboxEventRepository. Only the given filters become predicates; values are bound as parameters.
+ */
+class OutboxEventHistoryRepositoryImpl implements OutboxEventHistoryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OutboxEventSummary> findHistory(UUID aggregateId,
+                                                String aggregateType,
+                                                OutboxEventJpaEntity.OutboxEventStatus status,
+                                                Long beforeSequence,
+                                                int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OutboxEventSummary> query = cb.createQuery(OutboxEventSummary.class);
+        Root<OutboxEventJpaEntity> event = query.from(OutboxEventJpaEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (aggregateId != null) {
+            predicates.add(cb.equal(event.get("aggregateId"), aggregateId));
+        }
+        if (aggregateType != null) {
+            predicates.add(cb.equal(event.get("aggregateType"), aggregateType));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(event.get("status"), status));
+        }
+        if (beforeSequence != null) {
+            predicates.add(cb.lessThan(event.get("sequenceNumber"), beforeSequence));
+        }
+
+        query.select(cb.construct(OutboxEventSummary.class,
+                        event.get("id"), event.get("sequenceNumber"), event.get("aggregateType"),
+                        event.get("aggregateId"), event.get("eventType"), event.get("status"),
+                        event.get("occurredAt"), event.get("createdAt"), event.get("processedAt"),
+                        event.get("deliveryAttempts"), event.get("lastError")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(event.get("sequenceNumber")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
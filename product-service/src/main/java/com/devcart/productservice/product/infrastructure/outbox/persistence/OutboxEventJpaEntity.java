@@ -1,10 +1,9 @@
 package com.devcart.productservice.product.infrastructure.outbox.persistence;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
+import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -13,33 +12,94 @@ import java.util.UUID;
  * JPA entity representing an outbox event for reliable event publishing.
  * This entity ensures domain events are persisted atomically with business data
  * and later published to Kafka by the OutboxEventRelayer.
+ * Implements {@link Persistable} so newly created events are persisted with a plain INSERT
+ * instead of being merged, which would SELECT each application-assigned ID first.
  */
 @Entity
 @Table(name = "outbox_events", indexes = {
         @Index(name = "idx_outbox_status_created", columnList = "status, createdAt"),
-        @Index(name = "idx_outbox_aggregate", columnList = "aggregateType, aggregateId")
+        @Index(name = "idx_outbox_status_lane_sequence", columnList = "status, laneKey, sequenceNumber"),
+        @Index(name = "idx_outbox_sequence", columnList = "sequenceNumber"),
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_outbox_aggregate", columnList = "aggregateType, aggregateId"),
+        @Index(name = "idx_outbox_aggregate_sequence", columnList = "aggregateId, sequenceNumber")
 })
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class OutboxEventJpaEntity {
+public class OutboxEventJpaEntity implements Persistable<UUID> {
+
+    /**
+     * Number of lane keys events are hashed onto. Fixed, so the key of a stored event never changes;
+     * relayer instances lease slices of this key space.
+     */
+    public static final int LANE_KEY_SPACE = 256;
 
     @Id
     @Column(name = "id")
     private UUID id;
 
+    /**
+     * Monotonic, database-generated position of the event in the outbox.
+     * Not written by the application; read back only when events are loaded.
+     */
+    @Column(name = "sequence_number", insertable = false, updatable = false,
+            columnDefinition = "BIGINT GENERATED BY DEFAULT AS IDENTITY")
+    private Long sequenceNumber;
+
     @Column(name = "aggregate_type", nullable = false, length = 100)
     private String aggregateType;
 
     @Column(name = "aggregate_id", nullable = false)
     private UUID aggregateId;
 
+    /**
+     * Hash of the aggregate ID within {@link #LANE_KEY_SPACE}; all events of an aggregate share it.
+     */
+    @Column(name = "lane_key", nullable = false)
+    private Integer laneKey;
+
     @Column(name = "event_type", nullable = false, length = 255)
     private String eventType;
 
-    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
-    private String payload;
+    /**
+     * ID of the event type in the OutboxEventTypeRegistry; null for rows written before IDs were stored.
+     */
+    @Column(name = "event_type_id")
+    private Short eventTypeId;
+
+    /**
+     * Schema version of the event type the payload was written with.
+     */
+    @Column(name = "schema_version", nullable = false)
+    private Short schemaVersion;
+
+    /**
+     * Serialized event, encoded with the codec in {@link #payloadCodec} and then compressed
+     * as recorded in {@link #payloadCompression}.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "BYTEA")
+    private byte[] payload;
+
+    /**
+     * ID of the OutboxPayloadCodec the payload is encoded with.
+     */
+    @Column(name = "payload_codec", nullable = false)
+    private Short payloadCodec;
+
+    /**
+     * ID of the OutboxPayloadCompression applied to the encoded payload.
+     */
+    @Column(name = "payload_compression", nullable = false)
+    private Short payloadCompression;
+
+    /**
+     * When the domain event occurred; null for rows written before it was stored.
+     */
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -57,23 +117,66 @@ public class OutboxEventJpaEntity {
     @Column(name = "last_error", length = 1000)
     private String lastError;
 
+    /**
+     * When a FAILED event is due for its next attempt; null once its retries are exhausted.
+     */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity;
+
     /**
      * Creates a new outbox event in PENDING status.
+     * The outbox event takes the ID of the domain event, so consumers can deduplicate on it.
      */
-    public static OutboxEventJpaEntity create(UUID aggregateId, String aggregateType,
-                                              String eventType, String payload) {
+    public static OutboxEventJpaEntity create(UUID eventId, LocalDateTime occurredAt, UUID aggregateId,
+                                              String aggregateType, String eventType, short eventTypeId,
+                                              short schemaVersion, byte[] payload, short payloadCodec,
+                                              short payloadCompression) {
         OutboxEventJpaEntity entity = new OutboxEventJpaEntity();
-        entity.setId(UUID.randomUUID());
+        entity.setId(eventId);
+        entity.setOccurredAt(occurredAt);
         entity.setAggregateId(aggregateId);
+        entity.setLaneKey(laneKeyOf(aggregateId));
         entity.setAggregateType(aggregateType);
         entity.setEventType(eventType);
+        entity.setEventTypeId(eventTypeId);
+        entity.setSchemaVersion(schemaVersion);
         entity.setPayload(payload);
+        entity.setPayloadCodec(payloadCodec);
+        entity.setPayloadCompression(payloadCompression);
         entity.setCreatedAt(LocalDateTime.now());
         entity.setStatus(OutboxEventStatus.PENDING);
         entity.setDeliveryAttempts(0);
+        entity.newEntity = true;
         return entity;
     }
 
+    /**
+     * Maps an aggregate ID onto its lane key.
+     * The outbox_lane_key SQL function backfills existing rows with the same mapping and must be kept in sync.
+     */
+    public static int laneKeyOf(UUID aggregateId) {
+        return Math.floorMod(aggregateId.hashCode(), LANE_KEY_SPACE);
+    }
+
+    /**
+     * Outbox events are only ever inserted by {@link #create}; loaded or persisted events are not new.
+     */
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
     /**
      * Marks the event as published successfully.
      */
@@ -84,13 +187,16 @@ public class OutboxEventJpaEntity {
     }
 
     /**
-     * Marks the event as failed with error details.
+     * Marks the event as failed with error details and schedules its next attempt.
+     *
+     * @param nextAttemptAt When to try again, or null if the event should not be retried
      */
-    public void markAsFailed(String errorMessage) {
+    public void markAsFailed(String errorMessage, LocalDateTime nextAttemptAt) {
         this.status = OutboxEventStatus.FAILED;
         this.deliveryAttempts++;
         this.lastError = errorMessage;
         this.processedAt = LocalDateTime.now();
+        this.nextAttemptAt = nextAttemptAt;
     }
 
     /**
@@ -100,6 +206,7 @@ public class OutboxEventJpaEntity {
         this.status = OutboxEventStatus.PENDING;
         this.processedAt = null;
         this.lastError = null;
+        this.nextAttemptAt = null;
     }
 
     /**
@@ -112,6 +219,10 @@ public class OutboxEventJpaEntity {
     public enum OutboxEventStatus {
         PENDING,
         PUBLISHED,
-        FAILED
+        FAILED,
+        /**
+         * Superseded by a later event of the same type and aggregate and never published itself.
+         */
+        COALESCED
     }
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import java.util.UUID;
+
+/**
+ * Stored payload of an outbox event with the codec and compression needed to read it.
+ *
+ * @param id                 Event ID
+ * @param payload            Stored payload bytes
+ * @param payloadCodec       ID of the payload codec
+ * @param payloadCompression ID of the payload compression
+ */
+public record OutboxEventPayload(UUID id, byte[] payload, Short payloadCodec, Short payloadCompression) {
+}
@@ -1,15 +1,14 @@
 package com.devcart.productservice.product.infrastructure.outbox.persistence;
 
-import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,36 +17,138 @@ import java.util.UUID;
  * Provides methods for polling pending events and managing event lifecycle.
  */
 @Repository
-public interface OutboxEventRepository extends JpaRepository<OutboxEventJpaEntity, UUID> {
+public interface OutboxEventRepository
+        extends JpaRepository<OutboxEventJpaEntity, UUID>, OutboxEventHistoryRepository {
 
     /**
-     * Finds pending events for processing with pessimistic locking.
-     * Uses FOR UPDATE SKIP LOCKED to handle concurrent processing safely.
+     * Finds pending events for processing.
+     * Uses FOR UPDATE SKIP LOCKED to handle concurrent processing safely; the lock is part of the SQL
+     * because Hibernate rejects a lock mode on native queries.
+     * Tails the outbox in sequence order from the given cursor position.
+     * Events queued behind an earlier failure of the same aggregate that is still scheduled
+     * for retry are skipped so they cannot be published ahead of it.
      *
-     * @param pageable Pagination information (contains limit)
+     * @param laneKeys      Only return events with one of these lane keys
+     * @param afterSequence Only return events with a higher sequence number
+     * @param pageable      Pagination information (contains limit)
      * @return List of pending events, locked for processing
      */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query(value = "SELECT * FROM outbox_events e WHERE e.status = 'PENDING' " +
-            "ORDER BY e.created_at ASC FOR UPDATE SKIP LOCKED",
+    @Query(value = "SELECT * FROM outbox_events e WHERE e.status = 'PENDING' AND e.lane_key IN (:laneKeys) " +
+            "AND e.sequence_number > :afterSequence " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events f WHERE f.aggregate_id = e.aggregate_id " +
+            "AND f.status = 'FAILED' AND f.next_attempt_at IS NOT NULL AND f.sequence_number < e.sequence_number) " +
+            "ORDER BY e.sequence_number ASC FOR UPDATE SKIP LOCKED",
             nativeQuery = true)
-    List<OutboxEventJpaEntity> findPendingEventsForProcessing(Pageable pageable);
+    List<OutboxEventJpaEntity> findPendingEventsForProcessing(@Param("laneKeys") Collection<Integer> laneKeys,
+                                                              @Param("afterSequence") long afterSequence,
+                                                              Pageable pageable);
+
+    /**
+     * Finds the lowest sequence number of a pending event above the given position.
+     *
+     * @param laneKeys      Only consider events with one of these lane keys
+     * @param afterSequence Exclusive lower bound
+     * @return The sequence number, or null if no pending event lies above the position
+     */
+    @Query("SELECT MIN(e.sequenceNumber) FROM OutboxEventJpaEntity e " +
+            "WHERE e.status = 'PENDING' AND e.laneKey IN :laneKeys AND e.sequenceNumber > :afterSequence")
+    Long findMinPendingSequenceAfter(@Param("laneKeys") Collection<Integer> laneKeys,
+                                     @Param("afterSequence") long afterSequence);
+
+    /**
+     * Finds the highest sequence number within a range among events created before the given time.
+     *
+     * @param laneKeys       Only consider events with one of these lane keys
+     * @param afterSequence  Exclusive lower bound
+     * @param beforeSequence Exclusive upper bound
+     * @param createdBefore  Only consider events created before this time
+     * @return The sequence number, or null if no event matches
+     */
+    @Query("SELECT MAX(e.sequenceNumber) FROM OutboxEventJpaEntity e " +
+            "WHERE e.laneKey IN :laneKeys AND e.sequenceNumber > :afterSequence " +
+            "AND e.sequenceNumber < :beforeSequence AND e.createdAt < :createdBefore")
+    Long findMaxSequenceCreatedBefore(@Param("laneKeys") Collection<Integer> laneKeys,
+                                      @Param("afterSequence") long afterSequence,
+                                      @Param("beforeSequence") long beforeSequence,
+                                      @Param("createdBefore") LocalDateTime createdBefore);
+
+    /**
+     * Finds failed events whose next attempt is due, locking them with FOR UPDATE SKIP LOCKED.
+     * Served by the (status, next_attempt_at) index; events that exhausted their retries
+     * have no next attempt and are never returned.
+     *
+     * @param laneKeys Only return events with one of these lane keys
+     * @param now      Current time
+     * @param pageable Pagination information (contains limit)
+     * @return List of failed events due for retry, locked for processing
+     */
+    @Query(value = "SELECT * FROM outbox_events e WHERE e.status = 'FAILED' AND e.next_attempt_at <= :now " +
+            "AND e.lane_key IN (:laneKeys) ORDER BY e.next_attempt_at ASC FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEventJpaEntity> findEventsDueForRetry(@Param("laneKeys") Collection<Integer> laneKeys,
+                                                     @Param("now") LocalDateTime now,
+                                                     Pageable pageable);
+
+    /**
+     * Marks the given events as published in a single statement.
+     *
+     * @param ids         IDs of the events acknowledged by the broker
+     * @param processedAt Time of the acknowledgement
+     * @return Number of updated events
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEventJpaEntity e SET e.status = 'PUBLISHED', e.processedAt = :processedAt, " +
+            "e.lastError = NULL, e.nextAttemptAt = NULL WHERE e.id IN :ids")
+    int markAsPublished(@Param("ids") Collection<UUID> ids,
+                        @Param("processedAt") LocalDateTime processedAt);
 
     /**
-     * Finds failed events that can be retried.
+     * Marks events as PUBLISHED that the transport already has but that are still unsettled in the outbox,
+     * because the database commit after an atomic batch was lost.
      *
-     * @param maxRetries Maximum number of retry attempts
-     * @param retryAfter Only retry events that failed before this time
-     * @param pageable   Pagination information (contains limit)
-     * @return List of failed events eligible for retry
+     * @param ids         IDs recorded by the last committed atomic batch
+     * @param processedAt Time of the recovery
+     * @return Number of updated events
      */
-    @Query("SELECT e FROM OutboxEventJpaEntity e WHERE e.status = 'FAILED' " +
-            "AND e.deliveryAttempts < :maxRetries " +
-            "AND e.processedAt < :retryAfter " +
-            "ORDER BY e.createdAt ASC")
-    List<OutboxEventJpaEntity> findFailedEventsForRetry(@Param("maxRetries") int maxRetries,
-                                                        @Param("retryAfter") LocalDateTime retryAfter,
-                                                        Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEventJpaEntity e SET e.status = 'PUBLISHED', e.processedAt = :processedAt, " +
+            "e.lastError = NULL, e.nextAttemptAt = NULL WHERE e.id IN :ids AND e.status IN ('PENDING', 'FAILED')")
+    int markRelayedAsPublished(@Param("ids") Collection<UUID> ids,
+                               @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Finds events that are FAILED and have exhausted their retries.
+     * Used to sweep rows that were not moved to the dead-letter table at failure time.
+     *
+     * @param pageable Pagination information (contains limit)
+     * @return IDs of the exhausted events
+     */
+    @Query("SELECT e.id FROM OutboxEventJpaEntity e WHERE e.status = 'FAILED' AND e.nextAttemptAt IS NULL")
+    List<UUID> findExhaustedEventIds(Pageable pageable);
+
+    /**
+     * Deletes the given events if they are FAILED and have exhausted their retries.
+     *
+     * @param ids IDs of the exhausted events
+     * @return Number of deleted events
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM OutboxEventJpaEntity e WHERE e.id IN :ids " +
+            "AND e.status = 'FAILED' AND e.nextAttemptAt IS NULL")
+    int deleteExhaustedEvents(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Marks the given events as coalesced into a later event in a single statement.
+     *
+     * @param ids         IDs of the superseded events
+     * @param processedAt Time of coalescing
+     * @return Number of updated events
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEventJpaEntity e SET e.status = 'COALESCED', e.processedAt = :processedAt " +
+            "WHERE e.id IN :ids AND e.status = 'PENDING'")
+    int markAsCoalesced(@Param("ids") Collection<UUID> ids,
+                        @Param("processedAt") LocalDateTime processedAt);
 
     /**
      * Counts pending events.
@@ -56,30 +157,32 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEventJpaEntit
     long countPendingEvents();
 
     /**
-     * Counts failed events.
+     * Counts failed events that are still scheduled for retry.
+     * Exhausted events are moved to the dead-letter table and counted there.
      */
-    @Query("SELECT COUNT(e) FROM OutboxEventJpaEntity e WHERE e.status = 'FAILED'")
+    @Query("SELECT COUNT(e) FROM OutboxEventJpaEntity e WHERE e.status = 'FAILED' AND e.nextAttemptAt IS NOT NULL")
     long countFailedEvents();
 
     /**
-     * Deletes successfully published events older than the specified date.
+     * Deletes successfully published or coalesced events older than the specified date.
      * This is useful for cleanup to prevent the outbox table from growing indefinitely.
      *
-     * @param beforeDate Delete published events created before this date
+     * @param beforeDate Delete settled events created before this date
      * @return Number of deleted events
      */
     @Modifying
-    @Query("DELETE FROM OutboxEventJpaEntity e WHERE e.status = 'PUBLISHED' AND e.createdAt < :beforeDate")
+    @Query("DELETE FROM OutboxEventJpaEntity e WHERE e.status IN ('PUBLISHED', 'COALESCED') " +
+            "AND e.createdAt < :beforeDate")
     int deletePublishedEventsBefore(@Param("beforeDate") LocalDateTime beforeDate);
 
     /**
-     * Finds events by aggregate ID for debugging/monitoring purposes.
-     */
-    List<OutboxEventJpaEntity> findByAggregateIdOrderByCreatedAtDesc(UUID aggregateId);
-
-    /**
-     * Finds events by aggregate type and status.
+     * Reads the stored payloads of the given events without loading the entities.
+     *
+     * @param ids IDs of the events
+     * @return Payloads of the events that still exist
      */
-    List<OutboxEventJpaEntity> findByAggregateTypeAndStatus(String aggregateType,
-                                                            OutboxEventJpaEntity.OutboxEventStatus status);
+    @Query("SELECT new com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventPayload(" +
+            "e.id, e.payload, e.payloadCodec, e.payloadCompression) " +
+            "FROM OutboxEventJpaEntity e WHERE e.id IN :ids")
+    List<OutboxEventPayload> findPayloads(@Param("ids") Collection<UUID> ids);
 } 
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Payload-free projection of an outbox event, read without loading or managing the entity.
+ *
+ * @param id               Event ID
+ * @param sequenceNumber   Position of the event in the outbox
+ * @param aggregateType    Type of the aggregate that raised the event
+ * @param aggregateId      ID of the aggregate that raised the event
+ * @param eventType        Fully qualified event type
+ * @param status           Current status
+ * @param occurredAt       When the domain event occurred, if stored
+ * @param createdAt        When the event was written to the outbox
+ * @param processedAt      When the event was last processed
+ * @param deliveryAttempts Number of failed delivery attempts
+ * @param lastError        Last delivery error
+ */
+public record OutboxEventSummary(UUID id,
+                                 Long sequenceNumber,
+                                 String aggregateType,
+                                 UUID aggregateId,
+                                 String eventType,
+                                 OutboxEventJpaEntity.OutboxEventStatus status,
+                                 LocalDateTime occurredAt,
+                                 LocalDateTime createdAt,
+                                 LocalDateTime processedAt,
+                                 Integer deliveryAttempts,
+                                 String lastError) {
+}
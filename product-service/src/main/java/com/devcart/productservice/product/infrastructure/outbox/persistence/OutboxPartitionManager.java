@@ -0,0 +1,238 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import com.devcart.productservice.product.infrastructure.outbox.config.OutboxConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manages daily range partitions of the outbox_events table on PostgreSQL.
+ * The table must be created with sql/outbox_events_partitioned_schema.sql; JPA access through
+ * OutboxEventRepository is unchanged because PostgreSQL routes rows to partitions transparently.
+ * Retention drops a whole expired partition instead of deleting its rows one by one.
+ * Enabled with outbox.partitioning.enabled=true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.partitioning.enabled", havingValue = "true")
+public class OutboxPartitionManager {
+
+    private static final String TABLE_NAME = "outbox_events";
+    private static final String PARTITION_PREFIX = TABLE_NAME + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{8})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.partitioning.days-ahead:3}")
+    private int daysAhead;
+
+    @Value("${outbox.partitioning.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    /**
+     * Makes sure partitions exist for today and the configured number of days ahead.
+     * Runs at startup and hourly by default.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${outbox.partitioning.maintenance-cron:0 0 * * * ?}",
+            scheduler = OutboxConfiguration.MAINTENANCE_SCHEDULER)
+    public void createUpcomingPartitions() {
+        try {
+            LocalDate today = LocalDate.now();
+            for (int day = 0; day <= daysAhead; day++) {
+                createPartition(today.plusDays(day));
+            }
+        } catch (Exception e) {
+            log.error("Error creating outbox partitions", e);
+        }
+    }
+
+    /**
+     * Drops every daily partition that ends on or before the cutoff day, and deletes settled events
+     * created before the cutoff from the default partition.
+     * A partition that still holds PENDING or FAILED events is kept and only its published
+     * events are deleted, so undelivered events are never lost.
+     * Must be called outside a transaction: every statement commits on its own, and each detach runs in
+     * a short transaction of its own (or, without a default partition, as DETACH CONCURRENTLY),
+     * so outbox writers are blocked for one detach at most.
+     *
+     * @param cutoffDay Partitions covering only days before this one are expired
+     * @return Number of dropped partitions
+     */
+    public int dropPartitionsBefore(LocalDate cutoffDay) {
+        int droppedCount = 0;
+        String defaultPartition = findDefaultPartition();
+
+        for (Partition partition : findPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition.name());
+            if (!matcher.matches()) {
+                continue;
+            }
+
+            LocalDate day = LocalDate.parse(matcher.group(1), PARTITION_SUFFIX);
+            if (day.plusDays(1).isAfter(cutoffDay)) {
+                continue;
+            }
+
+            try {
+                if (!partition.detachPending() && hasUnsettledEvents(partition.name())) {
+                    int deletedCount = jdbcTemplate.update(
+                            "DELETE FROM " + partition.name() + " WHERE status IN ('PUBLISHED', 'COALESCED')");
+                    log.warn("Kept expired outbox partition {} with unsettled events; deleted {} published events",
+                            partition.name(), deletedCount);
+                    continue;
+                }
+
+                detachPartition(partition, defaultPartition != null);
+                restoreUnsettledEvents(partition.name());
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+                droppedCount++;
+                log.info("Dropped expired outbox partition {}", partition.name());
+            } catch (Exception e) {
+                log.error("Failed to drop expired outbox partition {}", partition.name(), e);
+            }
+        }
+
+        if (defaultPartition != null) {
+            int deletedCount = jdbcTemplate.update("DELETE FROM " + defaultPartition +
+                    " WHERE status IN ('PUBLISHED', 'COALESCED') AND created_at < ?", cutoffDay.atStartOfDay());
+            if (deletedCount > 0) {
+                log.info("Deleted {} expired published events from outbox partition {}", deletedCount,
+                        defaultPartition);
+            }
+        }
+
+        return droppedCount;
+    }
+
+    /**
+     * Detaches a partition from the outbox table.
+     * DETACH CONCURRENTLY only takes a SHARE UPDATE EXCLUSIVE lock, but PostgreSQL does not allow it while the
+     * table has a default partition; then a plain DETACH runs in its own transaction with a lock timeout, so it
+     * holds the ACCESS EXCLUSIVE lock for that statement only and gives up instead of queueing writers behind it.
+     * A concurrent detach interrupted earlier is completed with FINALIZE.
+     */
+    private void detachPartition(Partition partition, boolean hasDefaultPartition) {
+        if (partition.detachPending()) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " DETACH PARTITION " + partition.name() + " FINALIZE");
+        } else if (!hasDefaultPartition) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " DETACH PARTITION " + partition.name() +
+                    " CONCURRENTLY");
+        } else {
+            transactionTemplate.executeWithoutResult(status -> {
+                setLocalLockTimeout();
+                jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " DETACH PARTITION " + partition.name());
+            });
+        }
+    }
+
+    /**
+     * Moves unsettled events that reached a partition after it was checked, e.g. dead-letter replays that keep
+     * their original creation time, from the detached table back into the outbox before it is dropped.
+     * Their day no longer has a partition, so they land in the default partition.
+     */
+    private void restoreUnsettledEvents(String detachedTable) {
+        int restoredCount = jdbcTemplate.update("WITH moved AS (DELETE FROM " + detachedTable +
+                " WHERE status NOT IN ('PUBLISHED', 'COALESCED') RETURNING *) " +
+                "INSERT INTO " + TABLE_NAME + " SELECT * FROM moved");
+        if (restoredCount > 0) {
+            log.warn("Moved {} unsettled events from detached outbox partition {} back into the outbox",
+                    restoredCount, detachedTable);
+        }
+    }
+
+    private boolean hasUnsettledEvents(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE status NOT IN ('PUBLISHED', 'COALESCED'))",
+                Boolean.class));
+    }
+
+    /**
+     * Creates the partition of a day unless it exists.
+     * PostgreSQL refuses to create a partition while the default partition holds rows in its range, which happens
+     * after partition maintenance did not run for a while. Those rows are then moved in one transaction: the
+     * partition is created as a standalone table, the rows are moved into it and it is attached.
+     */
+    private void createPartition(LocalDate day) {
+        String partition = PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                partition))) {
+            return;
+        }
+
+        String defaultPartition = findDefaultPartition();
+        boolean defaultHasRows = defaultPartition != null && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + defaultPartition + " WHERE created_at >= ? AND created_at < ?)",
+                Boolean.class, day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+        String bounds = " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+
+        if (!defaultHasRows) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE_NAME + bounds);
+            return;
+        }
+
+        Integer movedCount = transactionTemplate.execute(status -> {
+            setLocalLockTimeout();
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE_NAME +
+                    " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + defaultPartition +
+                            " WHERE created_at >= ? AND created_at < ? RETURNING *) " +
+                            "INSERT INTO " + partition + " SELECT * FROM moved",
+                    day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " ATTACH PARTITION " + partition + bounds);
+            return moved;
+        });
+        log.warn("Created outbox partition {} and moved {} events into it from {}",
+                partition, movedCount, defaultPartition);
+    }
+
+    private void setLocalLockTimeout() {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeoutMs + "ms'");
+    }
+
+    private List<Partition> findPartitions() {
+        return jdbcTemplate.query(
+                "SELECT c.relname, i.inhdetachpending FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ? ORDER BY c.relname",
+                (rs, rowNum) -> new Partition(rs.getString(1), rs.getBoolean(2)), TABLE_NAME);
+    }
+
+    /**
+     * Finds the default partition of the outbox table.
+     *
+     * @return Its name, or null if the table has none
+     */
+    private String findDefaultPartition() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ? AND pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT'",
+                String.class, TABLE_NAME);
+        return names.isEmpty() ? null : names.getFirst();
+    }
+
+    /**
+     * A partition of the outbox table; detachPending marks one left behind by an interrupted DETACH CONCURRENTLY.
+     */
+    private record Partition(String name, boolean detachPending) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity storing how far the OutboxEventRelayer has tailed the outbox table.
+ * Every outbox event with a sequence number at or below the position is settled
+ * (published or failed), so the relayer only needs to scan rows above it.
+ */
+@Entity
+@Table(name = "outbox_relayer_cursors")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxRelayerCursorJpaEntity {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "position", nullable = false)
+    private long position;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Creates a cursor positioned before the first outbox event.
+     */
+    public static OutboxRelayerCursorJpaEntity create(String name) {
+        return new OutboxRelayerCursorJpaEntity(name, 0L, LocalDateTime.now());
+    }
+}
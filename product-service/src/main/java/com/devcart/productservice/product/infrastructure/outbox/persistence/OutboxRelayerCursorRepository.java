@@ -0,0 +1,31 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Spring Data JPA repository for OutboxRelayerCursorJpaEntity.
+ */
+@Repository
+public interface OutboxRelayerCursorRepository extends JpaRepository<OutboxRelayerCursorJpaEntity, String> {
+
+    /**
+     * Moves a cursor forward. Never moves it backwards, so concurrent relayers cannot undo each other's progress.
+     *
+     * @param name      Cursor name
+     * @param position  New position
+     * @param updatedAt Time of the update
+     * @return Number of updated cursors (0 if the cursor was already at or past the position)
+     */
+    @Modifying
+    @Query("UPDATE OutboxRelayerCursorJpaEntity c SET c.position = :position, c.updatedAt = :updatedAt " +
+            "WHERE c.name = :name AND c.position < :position")
+    int advance(@Param("name") String name,
+                @Param("position") long position,
+                @Param("updatedAt") LocalDateTime updatedAt);
+}
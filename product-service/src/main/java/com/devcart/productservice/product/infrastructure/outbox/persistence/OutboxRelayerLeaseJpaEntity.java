@@ -0,0 +1,47 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for a time-limited lease held by one relayer instance.
+ * Slice leases grant the exclusive right to relay a slice of the lane key space,
+ * the maintenance lease the right to run cleanup; instances also keep a heartbeat lease
+ * of their own so peers can count the live instances.
+ */
+@Entity
+@Table(name = "outbox_relayer_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxRelayerLeaseJpaEntity {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    /**
+     * Instance currently holding the lease; null when released.
+     */
+    @Column(name = "owner", length = 200)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Creates an unowned, expired lease.
+     */
+    public static OutboxRelayerLeaseJpaEntity create(String name) {
+        return new OutboxRelayerLeaseJpaEntity(name, null, LocalDateTime.now());
+    }
+}
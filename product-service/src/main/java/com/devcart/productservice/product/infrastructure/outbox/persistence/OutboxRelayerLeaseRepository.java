@@ -0,0 +1,100 @@
+package com.devcart.productservice.product.infrastructure.outbox.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for OutboxRelayerLeaseJpaEntity.
+ * Leases are taken and kept with conditional UPDATEs, so the database decides between competing instances.
+ */
+@Repository
+public interface OutboxRelayerLeaseRepository extends JpaRepository<OutboxRelayerLeaseJpaEntity, String> {
+
+    /**
+     * Takes or extends a lease if it is free, expired or already held by the owner.
+     *
+     * @param name      Lease name
+     * @param owner     Instance taking the lease
+     * @param expiresAt New expiry of the lease
+     * @param now       Current time
+     * @return 1 if the owner holds the lease afterwards, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE OutboxRelayerLeaseJpaEntity l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+            "WHERE l.name = :name AND (l.owner IS NULL OR l.owner = :owner OR l.expiresAt < :now)")
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Releases a lease held by the owner.
+     *
+     * @param name  Lease name
+     * @param owner Instance releasing the lease
+     * @param now   Current time, becomes the expiry
+     * @return Number of released leases
+     */
+    @Modifying
+    @Query("UPDATE OutboxRelayerLeaseJpaEntity l SET l.owner = NULL, l.expiresAt = :now " +
+            "WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Finds the unexpired leases with the given name prefix that are held by the owner.
+     *
+     * @param prefix Lease name prefix
+     * @param owner  Instance holding the leases
+     * @param now    Current time
+     * @return Names of the held leases
+     */
+    @Query("SELECT l.name FROM OutboxRelayerLeaseJpaEntity l " +
+            "WHERE l.name LIKE CONCAT(:prefix, '%') AND l.owner = :owner AND l.expiresAt >= :now")
+    List<String> findHeldLeaseNames(@Param("prefix") String prefix,
+                                    @Param("owner") String owner,
+                                    @Param("now") LocalDateTime now);
+
+    /**
+     * Finds the leases with the given name prefix that are free or expired.
+     *
+     * @param prefix Lease name prefix
+     * @param now    Current time
+     * @return Names of the available leases
+     */
+    @Query("SELECT l.name FROM OutboxRelayerLeaseJpaEntity l " +
+            "WHERE l.name LIKE CONCAT(:prefix, '%') AND (l.owner IS NULL OR l.expiresAt < :now) ORDER BY l.name")
+    List<String> findAvailableLeaseNames(@Param("prefix") String prefix,
+                                         @Param("now") LocalDateTime now);
+
+    /**
+     * Counts the unexpired leases with the given name prefix.
+     *
+     * @param prefix Lease name prefix
+     * @param now    Current time
+     * @return Number of live leases
+     */
+    @Query("SELECT COUNT(l) FROM OutboxRelayerLeaseJpaEntity l " +
+            "WHERE l.name LIKE CONCAT(:prefix, '%') AND l.owner IS NOT NULL AND l.expiresAt >= :now")
+    long countLiveLeases(@Param("prefix") String prefix,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes expired leases with the given name prefix.
+     *
+     * @param prefix Lease name prefix
+     * @param before Delete leases that expired before this time
+     * @return Number of deleted leases
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxRelayerLeaseJpaEntity l WHERE l.name LIKE CONCAT(:prefix, '%') AND l.expiresAt < :before")
+    int deleteExpiredLeases(@Param("prefix") String prefix,
+                            @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,70 @@
+package com.devcart.productservice.product.infrastructure.outbox.web;
+
+import com.devcart.productservice.product.infrastructure.outbox.OutboxDeadLetterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * REST controller for the outbox dead-letter tier.
+ * Lets operations teams inspect how many events exhausted their retries and replay them
+ * once the cause of the failures is fixed.
+ */
+@RestController
+@RequestMapping("/outbox/dead-letters")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDeadLetterController {
+
+    private final OutboxDeadLetterService deadLetterService;
+
+    /**
+     * Returns the number of dead-lettered events.
+     *
+     * @return Dead-letter count
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> getCount() {
+        try {
+            return ResponseEntity.ok(deadLetterService.countDeadLetterEvents());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Replays dead-lettered events back into the outbox in sequence order.
+     * All filters are optional and combined; without filters every dead-lettered event is replayed.
+     *
+     * @param eventType     Fully qualified event type to replay
+     * @param aggregateId   Aggregate whose events to replay
+     * @param createdFrom   Inclusive lower bound on the original creation time
+     * @param createdBefore Exclusive upper bound on the original creation time
+     * @return Summary of the replay
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<OutboxDeadLetterService.ReplayResult> replay(
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) UUID aggregateId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore) {
+
+        if (createdFrom != null && createdBefore != null && !createdFrom.isBefore(createdBefore)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            OutboxDeadLetterService.ReplayFilter filter = new OutboxDeadLetterService.ReplayFilter(
+                    eventType, aggregateId, createdFrom, createdBefore);
+            return ResponseEntity.ok(deadLetterService.replay(filter));
+        } catch (Exception e) {
+            log.error("Error replaying dead-lettered outbox events", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.devcart.productservice.product.infrastructure.outbox.web;
+
+import com.devcart.productservice.product.infrastructure.outbox.OutboxEventHistoryService;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * REST controller for browsing the event history kept in the outbox.
+ * Pages are chained by the nextCursor of the previous page, passed back as the before parameter.
+ * Payloads are left out unless includePayload is set, since they dominate the size of a row.
+ */
+@RestController
+@RequestMapping("/outbox")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxEventHistoryController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final OutboxEventHistoryService historyService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Returns one page of an aggregate's events, newest first.
+     *
+     * @param aggregateId    Aggregate whose events to read
+     * @param before         Cursor from the previous page
+     * @param limit          Page size
+     * @param includePayload Whether to include the decoded payloads
+     * @return The page and the cursor of the next one
+     */
+    @GetMapping("/aggregates/{aggregateId}/events")
+    public ResponseEntity<OutboxEventHistoryService.HistoryPage> getAggregateEvents(
+            @PathVariable UUID aggregateId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
+
+        OutboxEventHistoryService.HistoryFilter filter =
+                new OutboxEventHistoryService.HistoryFilter(aggregateId, null, null);
+        return getPage(filter, before, limit, includePayload);
+    }
+
+    /**
+     * Streams an aggregate's whole history, newest first, as newline-delimited JSON.
+     * The history is read page by page while the response is written, so its length does not
+     * affect memory use.
+     *
+     * @param aggregateId    Aggregate whose events to read
+     * @param includePayload Whether to include the decoded payloads
+     * @return One JSON event per line
+     */
+    @GetMapping("/aggregates/{aggregateId}/events/stream")
+    public ResponseEntity<StreamingResponseBody> streamAggregateEvents(
+            @PathVariable UUID aggregateId,
+            @RequestParam(defaultValue = "false") boolean includePayload) {
+
+        OutboxEventHistoryService.HistoryFilter filter =
+                new OutboxEventHistoryService.HistoryFilter(aggregateId, null, null);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                long streamed = historyService.stream(filter, includePayload, event -> {
+                    try {
+                        objectMapper.writeValue(generator, event);
+                        generator.writeRaw('\n');
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                log.debug("Streamed {} outbox events of aggregate {}", streamed, aggregateId);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Returns one page of events across aggregates, newest first.
+     * All filters are optional and combined.
+     *
+     * @param aggregateType Aggregate type, e.g. Product or ProductVariant
+     * @param status        Event status
+     * @param before        Cursor from the previous page
+     * @param limit         Page size
+     * @return The page and the cursor of the next one
+     */
+    @GetMapping("/events")
+    public ResponseEntity<OutboxEventHistoryService.HistoryPage> getEvents(
+            @RequestParam(required = false) String aggregateType,
+            @RequestParam(required = false) OutboxEventJpaEntity.OutboxEventStatus status,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        OutboxEventHistoryService.HistoryFilter filter =
+                new OutboxEventHistoryService.HistoryFilter(null, aggregateType, status);
+        return getPage(filter, before, limit, false);
+    }
+
+    private ResponseEntity<OutboxEventHistoryService.HistoryPage> getPage(
+            OutboxEventHistoryService.HistoryFilter filter, Long before, int limit, boolean includePayload) {
+
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(historyService.findPage(filter, before, limit, includePayload));
+        } catch (Exception e) {
+            log.error("Error reading outbox event history", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.devcart.productservice.product.infrastructure.persistence;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Updates the managed collections of an entity in place to match the state of its domain object.
+ * Only missing elements are added and only stale ones removed, so Hibernate writes one row per actual change
+ * instead of deleting and re-inserting the whole collection.
+ */
+final class PersistentCollections {
+
+    private PersistentCollections() {
+    }
+
+    /**
+     * Makes the target set hold exactly the elements of the source.
+     */
+    static <E> void sync(Set<E> target, Collection<E> source) {
+        target.removeIf(element -> !source.contains(element));
+        for (E element : source) {
+            if (!target.contains(element)) {
+                target.add(element);
+            }
+        }
+    }
+
+    /**
+     * Makes the target map hold exactly the entries of the source; entries with an unchanged value are not touched.
+     */
+    static <K, V> void sync(Map<K, V> target, Map<K, V> source) {
+        target.keySet().removeIf(key -> !source.containsKey(key));
+        source.forEach((key, value) -> {
+            if (!Objects.equals(target.get(key), value)) {
+                target.put(key, value);
+            }
+        });
+    }
+}
@@ -4,10 +4,15 @@ import com.devcart.productservice.product.domain.Product;
 import com.devcart.productservice.product.domain.ProductVariant;
 import com.devcart.productservice.product.domain.valueobject.*;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -15,17 +20,35 @@ import java.util.stream.Collectors;
 
 /**
  * JPA entity for Product persistence.
+ * All collections are lazy and loaded by subselect: the first access to a collection loads it for every product
+ * returned by the same query, so converting a list of products to the domain costs a fixed number of queries
+ * however many products it holds. Single-product loads use the {@link #WITH_VARIANTS} entity graph instead.
+ * Existing products are saved by applying the domain state to the managed entity with {@link #updateFrom(Product)};
+ * with dynamic updates, a change to one field becomes an UPDATE of that column only.
+ * <p>
+ * IDs are assigned by the domain. The entity implements {@link Persistable}, so a product converted with
+ * {@link #fromDomain(Product)} is persisted with a plain INSERT instead of being merged, which would SELECT the ID
+ * first and, for a generated ID, reject the unknown row.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_id", columnList = "createdAt, id"),
+        @Index(name = "idx_products_active_created_id", columnList = "active, createdAt, id")
+})
+@DynamicUpdate
+@NamedEntityGraph(name = ProductJpaEntity.WITH_VARIANTS, attributeNodes = @NamedAttributeNode("variants"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class ProductJpaEntity {
+public class ProductJpaEntity implements Persistable<UUID> {
+
+    /**
+     * Entity graph fetching the variants together with the product, in the same query.
+     */
+    public static final String WITH_VARIANTS = "Product.withVariants";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id")
     private UUID id;
 
@@ -42,26 +65,31 @@ public class ProductJpaEntity {
     @Column(name = "brand")
     private String brand;
 
+    @Fetch(FetchMode.SUBSELECT)
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "product_attributes", joinColumns = @JoinColumn(name = "product_id"))
     @MapKeyColumn(name = "attribute_key")
     @Column(name = "attribute_value")
     private Map<String, String> attributes = new HashMap<>();
 
+    @Fetch(FetchMode.SUBSELECT)
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "product_categories", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "category_id")
     private Set<UUID> categoryIds = new HashSet<>();
 
+    @Fetch(FetchMode.SUBSELECT)
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "product_tags", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "tag")
     private Set<String> tags = new HashSet<>();
 
+    @Fetch(FetchMode.SUBSELECT)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @OrderBy("displayOrder ASC")
     private List<ProductImageJpaEntity> images = new ArrayList<>();
 
+    @Fetch(FetchMode.SUBSELECT)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @OrderBy("sku ASC")
     private List<ProductVariantJpaEntity> variants = new ArrayList<>();
@@ -75,11 +103,17 @@ public class ProductJpaEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity;
+
     /**
      * Converts from domain Product to JPA entity.
      */
     public static ProductJpaEntity fromDomain(Product product) {
         ProductJpaEntity entity = new ProductJpaEntity();
+        entity.newEntity = true;
         entity.setId(product.getId());
         entity.setName(product.getName().getValue());
         entity.setDescription(product.getDescription().getValue());
@@ -111,6 +145,65 @@ public class ProductJpaEntity {
         return entity;
     }
 
+    /**
+     * Applies the state of a domain Product to this managed entity in place.
+     * Unchanged fields and collection elements are left alone so dirty checking writes only what changed:
+     * variants are matched by ID and updated individually, and images, which have no identity in the domain,
+     * are only replaced when the list differs. The creation time is never changed.
+     */
+    public void updateFrom(Product product) {
+        this.name = product.getName().getValue();
+        this.description = product.getDescription().getValue();
+        this.slug = product.getSlug().getValue();
+        PersistentCollections.sync(this.attributes, product.getAttributes().getAttributes());
+        PersistentCollections.sync(this.categoryIds, product.getCategoryIds());
+        PersistentCollections.sync(this.tags, product.getTags().stream()
+                .map(ProductTag::getValue)
+                .collect(Collectors.toSet()));
+
+        // Replace images only if they changed
+        List<ProductImage> currentImages = images.stream()
+                .map(ProductImageJpaEntity::toDomain)
+                .collect(Collectors.toList());
+        if (!currentImages.equals(product.getImages())) {
+            images.clear();
+            product.getImages().forEach(image -> images.add(ProductImageJpaEntity.fromDomain(image, this)));
+        }
+
+        // Update variants by ID, add new ones and remove deleted ones
+        Map<UUID, ProductVariant> domainVariants = product.getVariants().stream()
+                .collect(Collectors.toMap(ProductVariant::getId, variant -> variant, (first, second) -> first,
+                        LinkedHashMap::new));
+        variants.removeIf(variant -> !domainVariants.containsKey(variant.getId()));
+        Map<UUID, ProductVariantJpaEntity> currentVariants = variants.stream()
+                .collect(Collectors.toMap(ProductVariantJpaEntity::getId, variant -> variant));
+        domainVariants.forEach((variantId, variant) -> {
+            ProductVariantJpaEntity current = currentVariants.get(variantId);
+            if (current != null) {
+                current.updateFrom(variant);
+            } else {
+                variants.add(ProductVariantJpaEntity.fromDomain(variant, this));
+            }
+        });
+
+        this.active = product.isActive();
+        this.updatedAt = product.getUpdatedAt();
+    }
+
+    /**
+     * Only products converted with {@link #fromDomain} are new; loaded or persisted products are not.
+     */
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
     /**
      * Converts from JPA entity to domain Product.
      */
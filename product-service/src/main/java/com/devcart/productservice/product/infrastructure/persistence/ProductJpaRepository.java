@@ -1,15 +1,24 @@
 package com.devcart.productservice.product.infrastructure.persistence;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Spring Data JPA repository for ProductJpaEntity.
+ * List queries are paginated by keyset in two steps: a seek on (createdAt, id) selects the IDs of one page,
+ * newest first, and the page's products are then loaded by ID. Their collections are loaded afterwards by
+ * one subselect per collection (see {@link ProductJpaEntity}), restricted to the IDs of the page, so neither
+ * the number of queries nor the rows read grow with the size of the result.
  */
 @Repository
 public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, UUID> {
@@ -17,38 +26,142 @@ public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, UU
     // findByProductId is now equivalent to findById since we use the same ID for both
 
     /**
-     * Finds all products that contain a specific category.
+     * Finds a product with its variants fetched in the same query.
      */
-    @Query("SELECT p FROM ProductJpaEntity p WHERE :categoryId MEMBER OF p.categoryIds")
-    List<ProductJpaEntity> findByCategoryId(@Param("categoryId") UUID categoryId);
+    @Override
+    @EntityGraph(ProductJpaEntity.WITH_VARIANTS)
+    Optional<ProductJpaEntity> findById(UUID id);
 
     /**
-     * Finds all products that contain a specific tag.
+     * Finds a page of IDs of the products that contain a specific category.
+     *
+     * @param categoryId      Category ID
+     * @param beforeCreatedAt Creation time of the last product of the previous page
+     * @param beforeId        ID of the last product of the previous page
+     * @param pageable        Pagination information (contains limit)
+     * @return Product IDs, newest first
      */
-    @Query("SELECT p FROM ProductJpaEntity p WHERE :tag MEMBER OF p.tags")
-    List<ProductJpaEntity> findByTag(@Param("tag") String tag);
+    @Query("SELECT p.id FROM ProductJpaEntity p WHERE :categoryId MEMBER OF p.categoryIds " +
+            "AND (p.createdAt, p.id) < (:beforeCreatedAt, :beforeId) ORDER BY p.createdAt DESC, p.id DESC")
+    List<UUID> findIdsByCategoryId(@Param("categoryId") UUID categoryId,
+                                   @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                   @Param("beforeId") UUID beforeId,
+                                   Pageable pageable);
 
     /**
-     * Finds all products that contain any of the specified categories.
+     * Finds a page of IDs of the products that contain a specific tag.
+     *
+     * @param tag             Tag value
+     * @param beforeCreatedAt Creation time of the last product of the previous page
+     * @param beforeId        ID of the last product of the previous page
+     * @param pageable        Pagination information (contains limit)
+     * @return Product IDs, newest first
      */
-    @Query("SELECT DISTINCT p FROM ProductJpaEntity p WHERE EXISTS (SELECT 1 FROM p.categoryIds c WHERE c IN :categoryIds)")
-    List<ProductJpaEntity> findByCategoryIdsIn(@Param("categoryIds") List<UUID> categoryIds);
+    @Query("SELECT p.id FROM ProductJpaEntity p WHERE :tag MEMBER OF p.tags " +
+            "AND (p.createdAt, p.id) < (:beforeCreatedAt, :beforeId) ORDER BY p.createdAt DESC, p.id DESC")
+    List<UUID> findIdsByTag(@Param("tag") String tag,
+                            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                            @Param("beforeId") UUID beforeId,
+                            Pageable pageable);
 
     /**
-     * Finds all products that contain any of the specified tags.
+     * Finds a page of IDs of the products that contain any of the specified categories.
+     *
+     * @param categoryIds     Category IDs
+     * @param beforeCreatedAt Creation time of the last product of the previous page
+     * @param beforeId        ID of the last product of the previous page
+     * @param pageable        Pagination information (contains limit)
+     * @return Product IDs, newest first
      */
-    @Query("SELECT DISTINCT p FROM ProductJpaEntity p WHERE EXISTS (SELECT 1 FROM p.tags t WHERE t IN :tags)")
-    List<ProductJpaEntity> findByTagsIn(@Param("tags") List<String> tags);
+    @Query("SELECT p.id FROM ProductJpaEntity p " +
+            "WHERE EXISTS (SELECT 1 FROM p.categoryIds c WHERE c IN :categoryIds) " +
+            "AND (p.createdAt, p.id) < (:beforeCreatedAt, :beforeId) ORDER BY p.createdAt DESC, p.id DESC")
+    List<UUID> findIdsByCategoryIdsIn(@Param("categoryIds") List<UUID> categoryIds,
+                                      @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                      @Param("beforeId") UUID beforeId,
+                                      Pageable pageable);
 
     /**
-     * Finds all active products.
+     * Finds a page of IDs of the products that contain any of the specified tags.
+     *
+     * @param tags            Tag values
+     * @param beforeCreatedAt Creation time of the last product of the previous page
+     * @param beforeId        ID of the last product of the previous page
+     * @param pageable        Pagination information (contains limit)
+     * @return Product IDs, newest first
      */
-    List<ProductJpaEntity> findByActiveTrue();
+    @Query("SELECT p.id FROM ProductJpaEntity p WHERE EXISTS (SELECT 1 FROM p.tags t WHERE t IN :tags) " +
+            "AND (p.createdAt, p.id) < (:beforeCreatedAt, :beforeId) ORDER BY p.createdAt DESC, p.id DESC")
+    List<UUID> findIdsByTagsIn(@Param("tags") List<String> tags,
+                               @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                               @Param("beforeId") UUID beforeId,
+                               Pageable pageable);
 
     /**
-     * Finds products by name containing the given text (case-insensitive).
+     * Finds a page of IDs of the active products.
+     * Served by the (active, createdAt, id) index.
+     *
+     * @param beforeCreatedAt Creation time of the last product of the previous page
+     * @param beforeId        ID of the last product of the previous page
+     * @param pageable        Pagination information (contains limit)
+     * @return Product IDs, newest first
      */
-    List<ProductJpaEntity> findByNameContainingIgnoreCase(String name);
+    @Query("SELECT p.id FROM ProductJpaEntity p WHERE p.active = true " +
+            "AND (p.createdAt, p.id) < (:beforeCreatedAt, :beforeId) ORDER BY p.createdAt DESC, p.id DESC")
+    List<UUID> findActiveIds(@Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                             @Param("beforeId") UUID beforeId,
+                             Pageable pageable);
+
+    /**
+     * Finds a page of IDs of all products.
+     * Served by the (createdAt, id) index.
+     *
+     * @param beforeCreatedAt Creation time of the last product of the previous page
+     * @param beforeId        ID of the last product of the previous page
+     * @param pageable        Pagination information (contains limit)
+     * @return Product IDs, newest first
+     */
+    @Query("SELECT p.id FROM ProductJpaEntity p " +
+            "WHERE (p.createdAt, p.id) < (:beforeCreatedAt, :beforeId) ORDER BY p.createdAt DESC, p.id DESC")
+    List<UUID> findIds(@Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                       @Param("beforeId") UUID beforeId,
+                       Pageable pageable);
+
+    /**
+     * Finds a page of IDs of the products whose name contains the given text (case-insensitive).
+     *
+     * @param name            Text to search for
+     * @param beforeCreatedAt Creation time of the last product of the previous page
+     * @param beforeId        ID of the last product of the previous page
+     * @param pageable        Pagination information (contains limit)
+     * @return Product IDs, newest first
+     */
+    @Query("SELECT p.id FROM ProductJpaEntity p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "AND (p.createdAt, p.id) < (:beforeCreatedAt, :beforeId) ORDER BY p.createdAt DESC, p.id DESC")
+    List<UUID> findIdsByNameContaining(@Param("name") String name,
+                                       @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                       @Param("beforeId") UUID beforeId,
+                                       Pageable pageable);
+
+    /**
+     * Loads the products with the given IDs.
+     * Used as the second step of a page read, so the subselects of the collections are limited to the page.
+     */
+    @Query("SELECT p FROM ProductJpaEntity p WHERE p.id IN :ids")
+    List<ProductJpaEntity> findAllByIdIn(@Param("ids") List<UUID> ids);
+
+    /**
+     * Sets the update time of a product without loading it.
+     * Used when one of its variants is saved on its own, so that the product's update time moves
+     * as it does on the whole-product path.
+     *
+     * @param id        Product ID
+     * @param updatedAt Time of the update
+     * @return Number of updated products
+     */
+    @Modifying
+    @Query("UPDATE ProductJpaEntity p SET p.updatedAt = :updatedAt WHERE p.id = :id")
+    int touch(@Param("id") UUID id, @Param("updatedAt") LocalDateTime updatedAt);
 
     /**
      * Counts active products.
@@ -60,4 +173,4 @@ public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, UU
      * Checks if a product exists by its product ID.
      */
     boolean existsById(UUID productId);
-} 
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package com.devcart.productservice.product.infrastructure.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a product listing ordered by (createdAt, id), newest first.
+ * Handed to callers as an opaque URL-safe string.
+ *
+ * @param createdAt Creation time of the last product of a page
+ * @param id        ID of the last product of a page
+ */
+record ProductPageCursor(LocalDateTime createdAt, UUID id) {
+
+    /**
+     * Position before the newest possible product, used to read the first page with the same seek query.
+     * The date stays within the range of SQL timestamps, and the ID is the largest UUID.
+     */
+    static final ProductPageCursor FIRST = new ProductPageCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Creates the cursor pointing after the given product.
+     */
+    static ProductPageCursor after(ProductJpaEntity entity) {
+        return new ProductPageCursor(entity.getCreatedAt(), entity.getId());
+    }
+
+    /**
+     * Decodes a cursor string; null decodes to {@link #FIRST}.
+     *
+     * @throws IllegalArgumentException If the string is not a cursor produced by {@link #encode()}
+     */
+    static ProductPageCursor decode(String cursor) {
+        if (cursor == null) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new ProductPageCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe string.
+     */
+    String encode() {
+        String value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,19 +1,28 @@
 package com.devcart.productservice.product.infrastructure.persistence;
 
+import com.devcart.ecommerced.core.application.common.CursorPage;
+import com.devcart.ecommerced.core.application.common.CursorPageRequest;
 import com.devcart.ecommerced.core.application.common.Result;
 import com.devcart.ecommerced.core.domain.common.DomainEvent;
 import com.devcart.productservice.product.application.port.out.ProductRepository;
 import com.devcart.productservice.product.domain.Product;
+import com.devcart.productservice.product.domain.ProductVariant;
 import com.devcart.productservice.product.domain.valueobject.ProductId;
 import com.devcart.productservice.product.domain.valueobject.ProductTag;
+import com.devcart.productservice.product.domain.valueobject.ProductVariantId;
 import com.devcart.productservice.product.infrastructure.outbox.OutboxEventWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -25,13 +34,28 @@ import java.util.stream.Collectors;
 public class ProductRepositoryImpl implements ProductRepository {
 
     private final ProductJpaRepository jpaRepository;
+    private final ProductVariantJpaRepository variantJpaRepository;
     private final OutboxEventWriter outboxEventWriter;
 
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${product.pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${product.scan.chunk-size:500}")
+    private int scanChunkSize;
+
     @Override
     public Result<Product> save(Product product) {
         try {
-            // Save product entity to database
-            ProductJpaEntity entity = ProductJpaEntity.fromDomain(product);
+            // Apply changes to the managed entity so only changed columns and rows are written;
+            // products that do not exist yet are converted whole
+            ProductJpaEntity entity = jpaRepository.findById(product.getId())
+                    .map(existing -> {
+                        existing.updateFrom(product);
+                        return existing;
+                    })
+                    .orElseGet(() -> ProductJpaEntity.fromDomain(product));
             ProductJpaEntity saved = jpaRepository.save(entity);
 
             // Handle domain events with outbox pattern
@@ -73,78 +97,201 @@ public class ProductRepositoryImpl implements ProductRepository {
     }
 
     @Override
-    public Result<List<Product>> findByCategoryId(UUID categoryId) {
+    public Result<Optional<ProductVariant>> findVariant(ProductId productId, ProductVariantId variantId) {
         try {
-            List<ProductJpaEntity> entities = jpaRepository.findByCategoryId(categoryId);
-            List<Product> products = entities.stream()
-                    .map(ProductJpaEntity::toDomain)
-                    .collect(Collectors.toList());
-            return Result.success(products);
+            Optional<ProductVariant> variant = variantJpaRepository
+                    .findByIdAndProductId(productId.getValue(), variantId.getValue())
+                    .map(ProductVariantJpaEntity::toDomain);
+            return Result.success(variant);
         } catch (Exception e) {
-            return Result.failure("Failed to find products by tag: " + e.getMessage());
+            return Result.failure("Failed to find product variant: " + e.getMessage());
         }
     }
 
     @Override
-    public Result<List<Product>> findByTag(ProductTag tag) {
+    public Result<ProductVariant> saveVariant(ProductVariant variant) {
         try {
-            List<ProductJpaEntity> entities = jpaRepository.findByTag(tag.getValue());
-            List<Product> products = entities.stream()
-                    .map(ProductJpaEntity::toDomain)
-                    .collect(Collectors.toList());
-            return Result.success(products);
+            // The variant loaded by findVariant is usually still managed, so this is served without a query;
+            // updating it in place writes only its changed columns
+            Optional<ProductVariantJpaEntity> existing = variantJpaRepository.findById(variant.getId())
+                    .filter(entity -> entity.getProduct().getId().equals(variant.getProductId().getValue()));
+            if (existing.isEmpty()) {
+                return Result.failure("Product variant not found with ID: " + variant.getId());
+            }
+            ProductVariantJpaEntity entity = existing.get();
+            entity.updateFrom(variant);
+            ProductVariantJpaEntity saved = variantJpaRepository.save(entity);
+            // Every variant change counts as an update of its product, as on the whole-product path
+            jpaRepository.touch(variant.getProductId().getValue(), LocalDateTime.now());
+
+            // Save the variant's events to the outbox; they are flushed together with the variant update
+            List<DomainEvent> domainEvents = variant.getDomainEvents();
+            if (!domainEvents.isEmpty()) {
+                outboxEventWriter.saveEvents(domainEvents);
+                variant.clearDomainEvents();
+            }
+
+            return Result.success(saved.toDomain());
+        } catch (Exception e) {
+            return Result.failure("Failed to save product variant: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<CursorPage<Product>> findByCategoryId(UUID categoryId, CursorPageRequest page) {
+        try {
+            return Result.success(findPage(page, (cursor, pageable) ->
+                    jpaRepository.findIdsByCategoryId(categoryId, cursor.createdAt(), cursor.id(), pageable)));
+        } catch (Exception e) {
+            return Result.failure("Failed to find products by category: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<CursorPage<Product>> findByTag(ProductTag tag, CursorPageRequest page) {
+        try {
+            return Result.success(findPage(page, (cursor, pageable) ->
+                    jpaRepository.findIdsByTag(tag.getValue(), cursor.createdAt(), cursor.id(), pageable)));
         } catch (Exception e) {
             return Result.failure("Failed to find products by tag: " + e.getMessage());
         }
     }
 
     @Override
-    public Result<List<Product>> findByCategoryIdsIn(Set<UUID> categoryIds) {
-        return null;
+    public Result<CursorPage<Product>> findByCategoryIdsIn(Set<UUID> categoryIds, CursorPageRequest page) {
+        if (categoryIds.isEmpty()) {
+            return Result.success(CursorPage.last(List.of()));
+        }
+        try {
+            List<UUID> categoryIdValues = List.copyOf(categoryIds);
+            return Result.success(findPage(page, (cursor, pageable) ->
+                    jpaRepository.findIdsByCategoryIdsIn(categoryIdValues, cursor.createdAt(), cursor.id(), pageable)));
+        } catch (Exception e) {
+            return Result.failure("Failed to find products by categories: " + e.getMessage());
+        }
     }
 
     @Override
-    public Result<List<Product>> findByTagsIn(Set<ProductTag> tags) {
+    public Result<CursorPage<Product>> findByTagsIn(Set<ProductTag> tags, CursorPageRequest page) {
+        if (tags.isEmpty()) {
+            return Result.success(CursorPage.last(List.of()));
+        }
         try {
             List<String> tagValues = tags.stream()
                     .map(ProductTag::getValue)
                     .collect(Collectors.toList());
-            List<ProductJpaEntity> entities = jpaRepository.findByTagsIn(tagValues);
-            List<Product> products = entities.stream()
-                    .map(ProductJpaEntity::toDomain)
-                    .collect(Collectors.toList());
-            return Result.success(products);
+            return Result.success(findPage(page, (cursor, pageable) ->
+                    jpaRepository.findIdsByTagsIn(tagValues, cursor.createdAt(), cursor.id(), pageable)));
         } catch (Exception e) {
             return Result.failure("Failed to find products by tags: " + e.getMessage());
         }
     }
 
     @Override
-    public Result<List<Product>> findAllActive() {
+    public Result<CursorPage<Product>> findAllActive(CursorPageRequest page) {
         try {
-            List<ProductJpaEntity> entities = jpaRepository.findByActiveTrue();
-            List<Product> products = entities.stream()
-                    .map(ProductJpaEntity::toDomain)
-                    .collect(Collectors.toList());
-            return Result.success(products);
+            return Result.success(findPage(page, (cursor, pageable) ->
+                    jpaRepository.findActiveIds(cursor.createdAt(), cursor.id(), pageable)));
         } catch (Exception e) {
             return Result.failure("Failed to find active products: " + e.getMessage());
         }
     }
 
     @Override
-    public Result<List<Product>> findByNameContaining(String name) {
+    public Result<CursorPage<Product>> findByNameContaining(String name, CursorPageRequest page) {
         try {
-            List<ProductJpaEntity> entities = jpaRepository.findByNameContainingIgnoreCase(name);
-            List<Product> products = entities.stream()
-                    .map(ProductJpaEntity::toDomain)
-                    .collect(Collectors.toList());
-            return Result.success(products);
+            return Result.success(findPage(page, (cursor, pageable) ->
+                    jpaRepository.findIdsByNameContaining(name, cursor.createdAt(), cursor.id(), pageable)));
         } catch (Exception e) {
             return Result.failure("Failed to find products by name: " + e.getMessage());
         }
     }
 
+    @Override
+    public Result<Long> scanAll(Consumer<Product> consumer) {
+        try {
+            return Result.success(scan(consumer, (cursor, pageable) ->
+                    jpaRepository.findIds(cursor.createdAt(), cursor.id(), pageable)));
+        } catch (Exception e) {
+            return Result.failure("Failed to scan products: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<Long> scanAllActive(Consumer<Product> consumer) {
+        try {
+            return Result.success(scan(consumer, (cursor, pageable) ->
+                    jpaRepository.findActiveIds(cursor.createdAt(), cursor.id(), pageable)));
+        } catch (Exception e) {
+            return Result.failure("Failed to scan active products: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Walks a product listing in chunks of product.scan.chunk-size.
+     * Each chunk is read and handed to the consumer in a new read-only transaction: Hibernate keeps no snapshots
+     * for dirty checking and never flushes, and the persistence context holding the chunk is discarded when the
+     * transaction ends, so at most one chunk is held in memory. The chunk transactions are independent of
+     * any transaction of the caller, whose persistence context is left untouched.
+     */
+    private long scan(Consumer<Product> consumer, IdPageQuery idPageQuery) {
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        chunkTransaction.setReadOnly(true);
+
+        long scanned = 0;
+        String cursor = null;
+        do {
+            String chunkCursor = cursor;
+            CursorPage<Product> chunk = chunkTransaction.execute(status -> {
+                CursorPage<Product> page = findPage(chunkCursor, scanChunkSize, idPageQuery);
+                page.items().forEach(consumer);
+                return page;
+            });
+            scanned += chunk.items().size();
+            cursor = chunk.nextCursor();
+        } while (cursor != null);
+        return scanned;
+    }
+
+    /**
+     * Reads one page of products, with the page size capped at product.pagination.max-page-size.
+     */
+    private CursorPage<Product> findPage(CursorPageRequest page, IdPageQuery idPageQuery) {
+        return findPage(page.cursor(), Math.min(page.size(), maxPageSize), idPageQuery);
+    }
+
+    /**
+     * Reads one page of products: seeks the IDs of the page after the cursor, then loads those products
+     * and restores the order of the seek.
+     * Products deleted between the seek and the load are left out of the page. If a full page vanished
+     * entirely, the seek is repeated from the same cursor, since the products after it cannot be ruled out.
+     */
+    private CursorPage<Product> findPage(String cursor, int pageSize, IdPageQuery idPageQuery) {
+        List<UUID> ids = idPageQuery.find(ProductPageCursor.decode(cursor), PageRequest.of(0, pageSize));
+        if (ids.isEmpty()) {
+            return CursorPage.last(List.of());
+        }
+
+        Map<UUID, ProductJpaEntity> entitiesById = jpaRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductJpaEntity::getId, Function.identity()));
+        List<ProductJpaEntity> entities = ids.stream()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        List<Product> products = entities.stream()
+                .map(ProductJpaEntity::toDomain)
+                .collect(Collectors.toList());
+        if (ids.size() < pageSize) {
+            return CursorPage.last(products);
+        }
+        if (entities.isEmpty()) {
+            return findPage(cursor, pageSize, idPageQuery);
+        }
+        return new CursorPage<>(products, ProductPageCursor.after(entities.getLast()).encode());
+    }
+
     @Override
     public Result<Long> countTotal() {
         try {
@@ -188,4 +335,12 @@ public class ProductRepositoryImpl implements ProductRepository {
             return Result.failure("Failed to check product existence: " + e.getMessage());
         }
     }
+
+    /**
+     * Seek query returning the IDs of one page of products after a cursor.
+     */
+    @FunctionalInterface
+    private interface IdPageQuery {
+        List<UUID> find(ProductPageCursor cursor, Pageable pageable);
+    }
 } 
\ No newline at end of file
@@ -8,6 +8,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,9 +21,12 @@ import java.util.UUID;
 
 /**
  * JPA entity for ProductVariant persistence.
+ * Updated in place through its product, with dynamic updates so only changed columns are written.
+ * IDs are assigned by the domain, so new variants are inserted by cascading from their product.
  */
 @Entity
 @Table(name = "product_variants")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,7 +34,6 @@ import java.util.UUID;
 public class ProductVariantJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id")
     private UUID id;
 
@@ -48,6 +53,7 @@ public class ProductVariantJpaEntity {
     @Column(name = "price_currency", nullable = false, length = 3)
     private String priceCurrency;
 
+    @Fetch(FetchMode.SUBSELECT)
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "product_variant_attributes", joinColumns = @JoinColumn(name = "variant_id"))
     @MapKeyColumn(name = "attribute_key")
@@ -86,6 +92,21 @@ public class ProductVariantJpaEntity {
         return entity;
     }
 
+    /**
+     * Applies the state of a domain ProductVariant to this managed entity in place.
+     * The creation time is never changed.
+     */
+    public void updateFrom(ProductVariant variant) {
+        this.name = variant.getName().getValue();
+        this.sku = variant.getSku().getValue();
+        this.inventoryReferenceSku = variant.getSku().getValue(); // Use variant SKU as inventory reference
+        PersistentCollections.sync(this.attributes, variant.getAttributes().getAttributes());
+        this.priceAmount = variant.getPrice().getAmount();
+        this.priceCurrency = variant.getPrice().getCurrency().getCurrencyCode();
+        this.active = variant.isActive();
+        this.updatedAt = variant.getUpdatedAt();
+    }
+
     /**
      * Converts from JPA entity to domain ProductVariant.
      */
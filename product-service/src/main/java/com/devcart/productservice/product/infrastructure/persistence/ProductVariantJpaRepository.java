@@ -0,0 +1,31 @@
+package com.devcart.productservice.product.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for ProductVariantJpaEntity.
+ * Serves the variant-level write path, which reads and updates a single variant row without its product.
+ */
+@Repository
+public interface ProductVariantJpaRepository extends JpaRepository<ProductVariantJpaEntity, UUID> {
+
+    /**
+     * Finds a variant of a product with its attributes, in one query.
+     * The product is left as an unloaded reference.
+     *
+     * @param productId Product ID
+     * @param variantId Variant ID
+     * @return The variant, or empty if the product has no such variant
+     */
+    @EntityGraph(attributePaths = "attributes")
+    @Query("SELECT v FROM ProductVariantJpaEntity v WHERE v.id = :variantId AND v.product.id = :productId")
+    Optional<ProductVariantJpaEntity> findByIdAndProductId(@Param("productId") UUID productId,
+                                                           @Param("variantId") UUID variantId);
+}
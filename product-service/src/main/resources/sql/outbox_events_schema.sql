@@ -47,16 +47,185 @@ CREATE INDEX IF NOT EXISTS idx_outbox_status_created
 CREATE INDEX IF NOT EXISTS idx_outbox_aggregate
     ON outbox_events (aggregate_type, aggregate_id);
 
--- Index for failed event retries
-CREATE INDEX IF NOT EXISTS idx_outbox_failed_retry
-    ON outbox_events (status, delivery_attempts, processed_at)
-    WHERE status = 'FAILED';
+-- Monotonic sequence used by the relayer to tail the outbox in a deterministic order
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS sequence_number BIGINT GENERATED BY DEFAULT AS IDENTITY;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_sequence
+    ON outbox_events (status, sequence_number);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_sequence
+    ON outbox_events (sequence_number);
+
+-- Persisted relayer cursors: every event at or below position is settled
+CREATE TABLE IF NOT EXISTS outbox_relayer_cursors
+(
+    name       VARCHAR(100) PRIMARY KEY,
+    position   BIGINT       NOT NULL,
+    updated_at TIMESTAMP    NOT NULL
+);
+
+-- Per-event retry schedule, served by a single index
+-- FAILED rows with retries left are due immediately; a NULL next_attempt_at means exhausted.
+-- 3 is the default of outbox.relayer.max-retries; change it here if the property is overridden.
+DO
+$$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = 'outbox_events' AND column_name = 'next_attempt_at') THEN
+        ALTER TABLE outbox_events ADD COLUMN next_attempt_at TIMESTAMP;
+        UPDATE outbox_events SET next_attempt_at = CURRENT_TIMESTAMP
+        WHERE status = 'FAILED' AND delivery_attempts < 3;
+    END IF;
+END
+$$;
+
+DROP INDEX IF EXISTS idx_outbox_failed_retry;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_next_attempt
+    ON outbox_events (status, next_attempt_at);
+
+-- Dead-letter tier for events that exhausted their retries
+CREATE TABLE IF NOT EXISTS outbox_dead_letter_events
+(
+    id                UUID PRIMARY KEY,
+    sequence_number   BIGINT       NOT NULL,
+    aggregate_type    VARCHAR(100) NOT NULL,
+    aggregate_id      UUID         NOT NULL,
+    event_type        VARCHAR(255) NOT NULL,
+    payload           TEXT         NOT NULL,
+    created_at        TIMESTAMP    NOT NULL,
+    delivery_attempts INTEGER      NOT NULL,
+    last_error        VARCHAR(1000),
+    dead_lettered_at  TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_dl_sequence
+    ON outbox_dead_letter_events (sequence_number);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_dl_type_sequence
+    ON outbox_dead_letter_events (event_type, sequence_number);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_dl_aggregate
+    ON outbox_dead_letter_events (aggregate_id);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_dl_created
+    ON outbox_dead_letter_events (created_at);
+
+-- Lane keys and leases for coordinating several relayer instances
+-- Existing rows are backfilled with OutboxEventJpaEntity.laneKeyOf(aggregate_id), i.e.
+-- floorMod(UUID.hashCode(), 256). With a key space of 256 that is the low byte of the hash, which is the
+-- XOR of bytes 3, 7, 11 and 15 of the UUID (hex digits 7-8, 15-16, 23-24 and 31-32).
+CREATE OR REPLACE FUNCTION outbox_lane_key(aggregate_id UUID) RETURNS INTEGER AS
+$$
+SELECT ('x' || substr(h, 7, 2))::bit(8)::int # ('x' || substr(h, 15, 2))::bit(8)::int
+     # ('x' || substr(h, 23, 2))::bit(8)::int # ('x' || substr(h, 31, 2))::bit(8)::int
+FROM (SELECT replace(aggregate_id::text, '-', '') AS h) uuid_hex
+$$ LANGUAGE SQL IMMUTABLE;
+
+DO
+$$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = 'outbox_events' AND column_name = 'lane_key') THEN
+        ALTER TABLE outbox_events ADD COLUMN lane_key INTEGER NOT NULL DEFAULT 0;
+        UPDATE outbox_events SET lane_key = outbox_lane_key(aggregate_id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = 'outbox_dead_letter_events' AND column_name = 'lane_key') THEN
+        ALTER TABLE outbox_dead_letter_events ADD COLUMN lane_key INTEGER NOT NULL DEFAULT 0;
+        UPDATE outbox_dead_letter_events SET lane_key = outbox_lane_key(aggregate_id);
+    END IF;
+END
+$$;
+
+DROP INDEX IF EXISTS idx_outbox_status_sequence;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_lane_sequence
+    ON outbox_events (status, lane_key, sequence_number);
+
+-- Repairs unsettled rows of databases that added lane_key before the backfill above existed
+UPDATE outbox_events SET lane_key = outbox_lane_key(aggregate_id)
+WHERE status IN ('PENDING', 'FAILED') AND lane_key = 0 AND outbox_lane_key(aggregate_id) <> 0;
+
+CREATE TABLE IF NOT EXISTS outbox_relayer_leases
+(
+    name       VARCHAR(100) PRIMARY KEY,
+    owner      VARCHAR(200),
+    expires_at TIMESTAMP    NOT NULL
+);
+
+-- Events superseded by a later event of the same type and aggregate are settled as COALESCED
+ALTER TABLE outbox_events
+    DROP CONSTRAINT IF EXISTS outbox_events_status_check;
+
+ALTER TABLE outbox_events
+    ADD CONSTRAINT outbox_events_status_check CHECK (status IN ('PENDING', 'PUBLISHED', 'FAILED', 'COALESCED'));
+
+-- Binary payload codecs and numeric event type IDs
+-- Existing payloads keep their JSON bytes and are marked with codec 0 (JSON);
+-- rows without an event type ID are resolved by their event_type name
+DO
+$$
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_name = 'outbox_events' AND column_name = 'payload') = 'text' THEN
+        ALTER TABLE outbox_events ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
+    END IF;
+END
+$$;
+
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS payload_codec SMALLINT NOT NULL DEFAULT 0;
+
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS event_type_id SMALLINT;
+
+DO
+$$
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_name = 'outbox_dead_letter_events' AND column_name = 'payload') = 'text' THEN
+        ALTER TABLE outbox_dead_letter_events ALTER COLUMN payload TYPE BYTEA USING convert_to(payload, 'UTF8');
+    END IF;
+END
+$$;
+
+ALTER TABLE outbox_dead_letter_events
+    ADD COLUMN IF NOT EXISTS payload_codec SMALLINT NOT NULL DEFAULT 0;
+
+ALTER TABLE outbox_dead_letter_events
+    ADD COLUMN IF NOT EXISTS event_type_id SMALLINT;
+
+-- Payloads above the compression threshold are stored compressed (0 = none, 1 = LZ4)
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS payload_compression SMALLINT NOT NULL DEFAULT 0;
+
+ALTER TABLE outbox_dead_letter_events
+    ADD COLUMN IF NOT EXISTS payload_compression SMALLINT NOT NULL DEFAULT 0;
+
+-- Event metadata sent to consumers as Kafka record headers; outbox rows take the ID of their domain event
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS schema_version SMALLINT NOT NULL DEFAULT 1;
+
+ALTER TABLE outbox_events
+    ADD COLUMN IF NOT EXISTS occurred_at TIMESTAMP;
+
+ALTER TABLE outbox_dead_letter_events
+    ADD COLUMN IF NOT EXISTS schema_version SMALLINT NOT NULL DEFAULT 1;
+
+ALTER TABLE outbox_dead_letter_events
+    ADD COLUMN IF NOT EXISTS occurred_at TIMESTAMP;
+
+-- Aggregate history, read newest first in pages chained by sequence number
+CREATE INDEX IF NOT EXISTS idx_outbox_aggregate_sequence
+    ON outbox_events (aggregate_id, sequence_number);
 
 -- Comments for documentation
 COMMENT
 ON TABLE outbox_events IS 'Stores domain events for reliable publishing via the Outbox Pattern';
 COMMENT
-ON COLUMN outbox_events.id IS 'Unique identifier for the outbox event';
+ON COLUMN outbox_events.id IS 'Unique identifier for the outbox event (the ID of its domain event)';
 COMMENT
 ON COLUMN outbox_events.aggregate_type IS 'Type of aggregate that generated the event (e.g., Product, ProductVariant)';
 COMMENT
@@ -64,14 +233,38 @@ ON COLUMN outbox_events.aggregate_id IS 'ID of the aggregate instance that gener
 COMMENT
 ON COLUMN outbox_events.event_type IS 'Full class name of the domain event';
 COMMENT
-ON COLUMN outbox_events.payload IS 'JSON serialized domain event data';
+ON COLUMN outbox_events.payload IS 'Serialized domain event data, encoded with payload_codec';
 COMMENT
 ON COLUMN outbox_events.created_at IS 'Timestamp when the event was created';
 COMMENT
-ON COLUMN outbox_events.status IS 'Current status of the event (PENDING, PUBLISHED, FAILED)';
+ON COLUMN outbox_events.status IS 'Current status of the event (PENDING, PUBLISHED, FAILED, COALESCED)';
 COMMENT
 ON COLUMN outbox_events.processed_at IS 'Timestamp when the event was last processed';
 COMMENT
 ON COLUMN outbox_events.delivery_attempts IS 'Number of delivery attempts made';
 COMMENT
-ON COLUMN outbox_events.last_error IS 'Last error message if delivery failed';
\ No newline at end of file
+ON COLUMN outbox_events.last_error IS 'Last error message if delivery failed';
+COMMENT
+ON COLUMN outbox_events.sequence_number IS 'Database-generated monotonic position of the event in the outbox';
+COMMENT
+ON TABLE outbox_relayer_cursors IS 'Tail positions of the outbox relayer over outbox_events.sequence_number';
+COMMENT
+ON COLUMN outbox_events.next_attempt_at IS 'When a failed event is due for its next delivery attempt (null once retries are exhausted)';
+COMMENT
+ON TABLE outbox_dead_letter_events IS 'Outbox events that exhausted their delivery attempts, kept until replayed';
+COMMENT
+ON COLUMN outbox_dead_letter_events.sequence_number IS 'Sequence number the event had in outbox_events, used as replay order';
+COMMENT
+ON COLUMN outbox_events.lane_key IS 'Hash of aggregate_id in [0, 256); relayer instances lease slices of this key space';
+COMMENT
+ON TABLE outbox_relayer_leases IS 'Time-limited leases coordinating relayer instances (slices, maintenance, instance heartbeats)';
+COMMENT
+ON COLUMN outbox_events.payload_codec IS 'Payload encoding (0 = JSON, 1 = CBOR, 2 = Smile)';
+COMMENT
+ON COLUMN outbox_events.event_type_id IS 'Stable numeric ID of the event type in OutboxEventTypeRegistry';
+COMMENT
+ON COLUMN outbox_events.payload_compression IS 'Compression applied to the encoded payload (0 = none, 1 = LZ4)';
+COMMENT
+ON COLUMN outbox_events.schema_version IS 'Schema version of the event type the payload was written with';
+COMMENT
+ON COLUMN outbox_events.occurred_at IS 'When the domain event occurred (null for rows written before it was stored)';
@@ -0,0 +1,221 @@
+package com.devcart.productservice.product.application.command;
+
+import com.devcart.ecommerced.core.application.common.Result;
+import com.devcart.ecommerced.core.domain.shared.Money;
+import com.devcart.productservice.product.domain.Product;
+import com.devcart.productservice.product.domain.ProductVariant;
+import com.devcart.productservice.product.domain.valueobject.ProductDescription;
+import com.devcart.productservice.product.domain.valueobject.ProductId;
+import com.devcart.productservice.product.domain.valueobject.ProductName;
+import com.devcart.productservice.product.domain.valueobject.ProductSlug;
+import com.devcart.productservice.product.domain.valueobject.ProductVariantId;
+import com.devcart.productservice.product.domain.valueobject.VariantAttributes;
+import com.devcart.productservice.product.domain.valueobject.VariantName;
+import com.devcart.productservice.product.domain.valueobject.VariantSku;
+import com.devcart.productservice.product.infrastructure.outbox.OutboxEventTypeRegistry;
+import com.devcart.productservice.product.infrastructure.outbox.OutboxEventWriter;
+import com.devcart.productservice.product.infrastructure.outbox.OutboxPayloadCompressor;
+import com.devcart.productservice.product.infrastructure.outbox.OutboxPayloadSerializer;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventRepository;
+import com.devcart.productservice.product.infrastructure.persistence.ProductJpaEntity;
+import com.devcart.productservice.product.infrastructure.persistence.ProductRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Variant-level command handlers against H2, with the real repository and outbox writer.
+ */
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ProductRepositoryImpl.class, OutboxEventWriter.class, OutboxPayloadSerializer.class,
+        OutboxEventTypeRegistry.class, OutboxPayloadCompressor.class,
+        ChangeProductVariantPriceCommandHandler.class, ActivateProductVariantCommandHandler.class,
+        DeactivateProductVariantCommandHandler.class})
+class ProductVariantCommandHandlersTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final LocalDateTime LAST_UPDATE = LocalDateTime.of(2025, 3, 14, 9, 26, 53);
+
+    @Autowired
+    private ProductRepositoryImpl productRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ChangeProductVariantPriceCommandHandler changePriceHandler;
+
+    @Autowired
+    private ActivateProductVariantCommandHandler activateHandler;
+
+    @Autowired
+    private DeactivateProductVariantCommandHandler deactivateHandler;
+
+    private UUID productId;
+    private UUID variantId;
+    private UUID otherProductId;
+
+    @BeforeEach
+    void setUp() {
+        Product product = saveProduct("trail-runner", "TR-42");
+        productId = product.getId();
+        variantId = product.getVariants().getFirst().getId();
+        otherProductId = saveProduct("road-runner", "RR-42").getId();
+
+        outboxEventRepository.deleteAll();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void rejectsAVariantOfAnotherProduct() {
+        List<Result<Void>> results = List.of(
+                changePriceHandler.handle(new ChangeProductVariantPriceCommand(otherProductId, variantId,
+                        new BigDecimal("89.99"), "USD")),
+                activateHandler.handle(new ActivateProductVariantCommand(otherProductId, variantId)),
+                deactivateHandler.handle(new DeactivateProductVariantCommand(otherProductId, variantId)));
+        entityManager.flush();
+
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.isFailure()).isTrue();
+            assertThat(result.getError()).isEqualTo("Variant not found: " + variantId);
+        });
+        ProductVariant variant = loadVariant();
+        assertThat(variant.getPrice()).isEqualTo(usd("79.99"));
+        assertThat(variant.isActive()).isTrue();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void rejectsANonPositivePrice() {
+        for (String price : List.of("0", "-5.00")) {
+            Result<Void> result = changePriceHandler.handle(
+                    new ChangeProductVariantPriceCommand(productId, variantId, new BigDecimal(price), "USD"));
+
+            assertThat(result.isFailure()).isTrue();
+            assertThat(result.getError()).contains("Variant price must be positive");
+        }
+        entityManager.flush();
+
+        assertThat(loadVariant().getPrice()).isEqualTo(usd("79.99"));
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void writesTheSameOutboxRowAsTheProductPath() {
+        ProductVariantId variant = ProductVariantId.of(variantId);
+
+        assertSameOutboxRow(
+                () -> changePriceHandler.handle(new ChangeProductVariantPriceCommand(productId, variantId,
+                        new BigDecimal("89.99"), "USD")),
+                product -> product.changeVariantPrice(variant, usd("99.99")));
+        assertSameOutboxRow(
+                () -> deactivateHandler.handle(new DeactivateProductVariantCommand(productId, variantId)),
+                product -> product.deactivateVariant(variant));
+        assertSameOutboxRow(
+                () -> activateHandler.handle(new ActivateProductVariantCommand(productId, variantId)),
+                product -> product.activateVariant(variant));
+
+        assertThat(loadVariant().getPrice()).isEqualTo(usd("99.99"));
+    }
+
+    @Test
+    void updatesTheProductWithItsVariant() {
+        List<Supplier<Result<Void>>> changes = List.of(
+                () -> changePriceHandler.handle(new ChangeProductVariantPriceCommand(productId, variantId,
+                        new BigDecimal("89.99"), "USD")),
+                () -> deactivateHandler.handle(new DeactivateProductVariantCommand(productId, variantId)),
+                () -> activateHandler.handle(new ActivateProductVariantCommand(productId, variantId)));
+
+        for (Supplier<Result<Void>> change : changes) {
+            entityManager.find(ProductJpaEntity.class, productId).setUpdatedAt(LAST_UPDATE);
+            entityManager.find(ProductJpaEntity.class, otherProductId).setUpdatedAt(LAST_UPDATE);
+            entityManager.flush();
+            entityManager.clear();
+
+            assertThat(change.get().isSuccess()).isTrue();
+            entityManager.flush();
+            entityManager.clear();
+
+            assertThat(entityManager.find(ProductJpaEntity.class, productId).getUpdatedAt()).isAfter(LAST_UPDATE);
+            assertThat(entityManager.find(ProductJpaEntity.class, otherProductId).getUpdatedAt())
+                    .isEqualTo(LAST_UPDATE);
+        }
+    }
+
+    /**
+     * Runs a change through its variant-level handler and then through the loaded product,
+     * and checks that both write one outbox row describing the event the same way.
+     */
+    private void assertSameOutboxRow(Supplier<Result<Void>> variantPath, Consumer<Product> productPath) {
+        Result<Void> result = variantPath.get();
+        assertThat(result.getError()).isNull();
+        assertThat(result.isSuccess()).isTrue();
+        OutboxEventJpaEntity variantRow = takeOutboxRow();
+
+        Product product = productRepository.findById(productId).getOrThrow().orElseThrow();
+        productPath.accept(product);
+        productRepository.save(product).getOrThrow();
+        OutboxEventJpaEntity productRow = takeOutboxRow();
+
+        assertThat(variantRow.getAggregateId()).isEqualTo(productId);
+        assertThat(variantRow)
+                .usingRecursiveComparison()
+                .comparingOnlyFields("eventType", "eventTypeId", "schemaVersion", "aggregateType", "aggregateId",
+                        "laneKey")
+                .isEqualTo(productRow);
+    }
+
+    /**
+     * Flushes pending changes and removes the single outbox row they wrote.
+     */
+    private OutboxEventJpaEntity takeOutboxRow() {
+        entityManager.flush();
+        List<OutboxEventJpaEntity> rows = outboxEventRepository.findAll();
+        assertThat(rows).hasSize(1);
+        outboxEventRepository.deleteAll();
+        entityManager.flush();
+        entityManager.clear();
+        return rows.getFirst();
+    }
+
+    private ProductVariant loadVariant() {
+        entityManager.clear();
+        return productRepository.findVariant(ProductId.of(productId), ProductVariantId.of(variantId))
+                .getOrThrow().orElseThrow();
+    }
+
+    private Product saveProduct(String slug, String sku) {
+        Product product = new Product(ProductName.of(slug), ProductDescription.of("Running shoe"),
+                ProductSlug.of(slug), null, Set.of(new UUID(0L, 1)));
+        product.addVariant(VariantName.of("Size 42"), VariantSku.of(sku), VariantAttributes.of(Map.of("size", "42")),
+                usd("79.99"));
+        return productRepository.save(product).getOrThrow();
+    }
+
+    private static Money usd(String amount) {
+        return new Money(new BigDecimal(amount), USD);
+    }
+}
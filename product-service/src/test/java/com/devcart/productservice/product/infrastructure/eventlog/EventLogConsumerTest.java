@@ -0,0 +1,92 @@
+package com.devcart.productservice.product.infrastructure.eventlog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventLogConsumerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void resumesFromCommittedOffsetAfterRestart() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, 4096, false)) {
+            appendRecords(eventLog, 0, 5);
+
+            EventLogConsumer consumer = eventLog.consumer("inventory");
+            assertThat(offsets(consumer.poll(3))).containsExactly(0L, 1L, 2L);
+            consumer.commit();
+            // Polled but not committed, so delivered again after the restart
+            assertThat(offsets(consumer.poll(10))).containsExactly(3L, 4L);
+            assertThat(consumer.lag()).isZero();
+        }
+
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, 4096, false)) {
+            EventLogConsumer consumer = eventLog.consumer("inventory");
+            assertThat(consumer.position()).isEqualTo(3);
+            assertThat(consumer.lag()).isEqualTo(2);
+            assertThat(offsets(consumer.poll(10))).containsExactly(3L, 4L);
+
+            appendRecords(eventLog, 5, 2);
+            assertThat(offsets(consumer.poll(10))).containsExactly(5L, 6L);
+            assertThat(consumer.poll(10)).isEmpty();
+        }
+    }
+
+    @Test
+    void readerProcessConsumerCommitsNextToWriter() throws IOException {
+        try (MappedEventLog writer = MappedEventLog.openWriter(directory, 256, false)) {
+            appendRecords(writer, 0, 4);
+            writer.force();
+
+            try (MappedEventLog reader = MappedEventLog.openReader(directory)) {
+                EventLogConsumer consumer = reader.consumer("search");
+                assertThat(offsets(consumer.poll(10))).containsExactly(0L, 1L, 2L, 3L);
+                consumer.commit();
+            }
+
+            assertThat(writer.minCommittedOffset()).hasValue(4);
+            assertThat(writer.consumer("search").position()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void seekMovesTheNextPoll() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, 4096, false)) {
+            appendRecords(eventLog, 0, 5);
+
+            EventLogConsumer consumer = eventLog.consumer("replay");
+            consumer.seek(3);
+            assertThat(offsets(consumer.poll(10))).containsExactly(3L, 4L);
+            consumer.seek(0);
+            assertThat(offsets(consumer.poll(1))).containsExactly(0L);
+        }
+    }
+
+    @Test
+    void noCommittedOffsetWithoutCommits() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, 4096, false)) {
+            appendRecords(eventLog, 0, 2);
+            eventLog.consumer("idle").poll(10);
+
+            assertThat(eventLog.minCommittedOffset()).isEmpty();
+        }
+    }
+
+    private static void appendRecords(MappedEventLog eventLog, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            eventLog.append("key-" + i, "type", ("payload-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<Long> offsets(List<EventLogRecord> records) {
+        return records.stream().map(EventLogRecord::offset).toList();
+    }
+}
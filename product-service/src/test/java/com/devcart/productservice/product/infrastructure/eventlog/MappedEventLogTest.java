@@ -0,0 +1,217 @@
+package com.devcart.productservice.product.infrastructure.eventlog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedEventLogTest {
+
+    // Three records of recordBytes() fit into a segment, a fourth starts the next one
+    private static final int SEGMENT_BYTES = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsRecordsBackAcrossSegmentRolls() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(eventLog.append(key(i), "type", payload(i))).isEqualTo(i);
+            }
+
+            assertRecords(eventLog.read(0, 100), 0, 10);
+            assertRecords(eventLog.read(4, 3), 4, 3);
+            assertThat(eventLog.endOffset()).isEqualTo(10);
+        }
+
+        assertThat(segmentFiles()).hasSize(4);
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, SEGMENT_BYTES, false)) {
+            assertThat(eventLog.endOffset()).isEqualTo(10);
+            assertRecords(eventLog.read(0, 100), 0, 10);
+            assertThat(eventLog.append(key(10), "type", payload(10))).isEqualTo(10);
+        }
+    }
+
+    @Test
+    void recoverDiscardsTruncatedTail() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < 2; i++) {
+                eventLog.append(key(i), "type", payload(i));
+            }
+        }
+
+        // A record whose length was written but whose body was not
+        Path segment = segmentFiles().getFirst();
+        ByteBuffer header = ByteBuffer.allocate(8).putInt(recordBytes(2) - Integer.BYTES).putInt(42).flip();
+        writeAt(segment, 2 * recordBytes(0), header);
+
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, SEGMENT_BYTES, false)) {
+            assertThat(eventLog.endOffset()).isEqualTo(2);
+            assertThat(eventLog.append(key(2), "type", payload(2))).isEqualTo(2);
+            assertRecords(eventLog.read(0, 100), 0, 3);
+        }
+    }
+
+    @Test
+    void recoverDiscardsGarbledLastRecord() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < 3; i++) {
+                eventLog.append(key(i), "type", payload(i));
+            }
+        }
+
+        // Flip the last payload byte of the third record, so its CRC no longer matches
+        Path segment = segmentFiles().getFirst();
+        int lastByte = 3 * recordBytes(0) - 1;
+        byte[] content = Files.readAllBytes(segment);
+        writeAt(segment, lastByte, ByteBuffer.wrap(new byte[]{(byte) ~content[lastByte]}));
+
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, SEGMENT_BYTES, false)) {
+            assertThat(eventLog.endOffset()).isEqualTo(2);
+            assertThat(eventLog.append(key(2), "type", payload(2))).isEqualTo(2);
+            assertRecords(eventLog.read(0, 100), 0, 3);
+        }
+    }
+
+    @Test
+    void readsFromOffsetsBetweenIndexEntries() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, 8 * 1024, false)) {
+            for (int i = 0; i < 300; i++) {
+                eventLog.append(key(i), "type", payload(i));
+            }
+            assertRecords(eventLog.read(100, 5), 100, 5);
+        }
+
+        // After a restart only the active segment is indexed again; older ones are scanned from their start
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, 8 * 1024, false)) {
+            assertRecords(eventLog.read(131, 3), 131, 3);
+            assertRecords(eventLog.read(299, 10), 299, 1);
+            assertThat(eventLog.read(300, 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void readerTailsSegmentsRolledAfterItOpened() throws IOException {
+        try (MappedEventLog writer = MappedEventLog.openWriter(directory, SEGMENT_BYTES, false);
+             MappedEventLog reader = MappedEventLog.openReader(directory)) {
+            writer.append(key(0), "type", payload(0));
+            writer.append(key(1), "type", payload(1));
+            writer.force();
+            assertRecords(reader.read(0, 100), 0, 2);
+
+            for (int i = 2; i < 10; i++) {
+                writer.append(key(i), "type", payload(i));
+            }
+            writer.force();
+
+            assertRecords(reader.read(2, 100), 2, 8);
+            assertThat(reader.read(10, 100)).isEmpty();
+        }
+    }
+
+    @Test
+    void rejectsKeysAndTypesLongerThanTheirLengthField() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, 1024 * 1024, false)) {
+            String longest = "k".repeat(Short.MAX_VALUE);
+
+            assertThat(eventLog.append(longest, longest, new byte[0])).isZero();
+            assertThat(eventLog.read(0, 1).getFirst().key()).isEqualTo(longest);
+
+            assertThatThrownBy(() -> eventLog.append(longest + "k", "type", new byte[0]))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> eventLog.append("key", longest + "t", new byte[0]))
+                    .isInstanceOf(IllegalArgumentException.class);
+            // Lengths are bounded in UTF-8 bytes, not characters
+            assertThatThrownBy(() -> eventLog.append("é".repeat(Short.MAX_VALUE / 2 + 1), "type", new byte[0]))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(eventLog.endOffset()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void deletesSegmentsAllConsumersCommittedPast() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < 10; i++) {
+                eventLog.append(key(i), "type", payload(i));
+            }
+            EventLogConsumer fast = eventLog.consumer("fast");
+            fast.seek(7);
+            fast.commit();
+            EventLogConsumer slow = eventLog.consumer("slow");
+            slow.seek(4);
+            slow.commit();
+
+            assertThat(eventLog.minCommittedOffset()).hasValue(4);
+            assertThat(eventLog.deleteSegments(4, Instant.EPOCH)).isEqualTo(1);
+            assertThat(eventLog.startOffset()).isEqualTo(3);
+            assertThat(segmentFiles()).hasSize(3);
+            assertRecords(eventLog.read(3, 100), 3, 7);
+        }
+    }
+
+    @Test
+    void deletesExpiredSegmentsAndSkipsReadersAhead() throws IOException {
+        try (MappedEventLog eventLog = MappedEventLog.openWriter(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < 10; i++) {
+                eventLog.append(key(i), "type", payload(i));
+            }
+
+            // The active segment is kept even when it is expired
+            assertThat(eventLog.deleteSegments(0, Instant.now().plusSeconds(60))).isEqualTo(3);
+            assertThat(eventLog.startOffset()).isEqualTo(9);
+            assertRecords(eventLog.read(0, 100), 9, 1);
+        }
+    }
+
+    private void assertRecords(List<EventLogRecord> records, int fromOffset, int count) {
+        assertThat(records).hasSize(count);
+        for (int i = 0; i < count; i++) {
+            EventLogRecord record = records.get(i);
+            assertThat(record.offset()).isEqualTo(fromOffset + i);
+            assertThat(record.key()).isEqualTo(key(fromOffset + i));
+            assertThat(record.type()).isEqualTo("type");
+            assertThat(record.payload()).isEqualTo(payload(fromOffset + i));
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static void writeAt(Path file, int position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    /**
+     * Size of a record written by these tests: length, crc, offset, key and type lengths, key, type and payload.
+     */
+    private static int recordBytes(int i) {
+        return 2 * Integer.BYTES + Long.BYTES + 2 * Short.BYTES
+                + key(i).length() + "type".length() + payload(i).length;
+    }
+
+    private static String key(int i) {
+        return String.format("key-%03d", i);
+    }
+
+    private static byte[] payload(int i) {
+        return String.format("{\"n\":%03d,\"text\":\"payload of a test record\"}", i).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+package com.devcart.productservice.product.infrastructure.outbox;
+
+import com.devcart.productservice.product.domain.event.ProductActivatedEvent;
+import com.devcart.productservice.product.domain.valueobject.ProductId;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventJpaEntity.OutboxEventStatus;
+import com.devcart.productservice.product.infrastructure.outbox.persistence.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Delivery path of the relayer against H2: outbox rows written by the writer are relayed
+ * through a recording transport in place of Kafka.
+ */
+@SpringBootTest(properties = {
+        "outbox.relayer.transport=recording",
+        "outbox.relayer.retry.initial-delay-ms=200"
+})
+class OutboxEventRelayerTest {
+
+    @Autowired
+    private OutboxEventWriter outboxEventWriter;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxEventRelayer relayer;
+
+    @Autowired
+    private RecordingTransport transport;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transport.reset();
+    }
+
+    @Test
+    void publishesAPendingEvent() {
+        UUID eventId = writeEvent();
+
+        awaitStatus(eventId, OutboxEventStatus.PUBLISHED);
+
+        assertThat(transport.sent).containsExactly(eventId);
+        OutboxEventJpaEntity event = outboxEventRepository.findById(eventId).orElseThrow();
+        assertThat(event.getProcessedAt()).isNotNull();
+        assertThat(event.getDeliveryAttempts()).isZero();
+    }
+
+    @Test
+    void retriesAFailedEventOnceItIsDue() {
+        transport.failuresLeft.set(1);
+        UUID eventId = writeEvent();
+
+        awaitStatus(eventId, OutboxEventStatus.PUBLISHED);
+
+        assertThat(transport.sent).containsExactly(eventId);
+        OutboxEventJpaEntity event = outboxEventRepository.findById(eventId).orElseThrow();
+        assertThat(event.getDeliveryAttempts()).isOne();
+        assertThat(event.getNextAttemptAt()).isNull();
+        assertThat(event.getLastError()).isNull();
+    }
+
+    /**
+     * Writes one event to the outbox in its own transaction; its commit wakes the relayer.
+     */
+    private UUID writeEvent() {
+        ProductActivatedEvent event = new ProductActivatedEvent(ProductId.of(UUID.randomUUID()));
+        transactionTemplate.executeWithoutResult(status -> outboxEventWriter.saveEvent(event));
+        return event.getEventId();
+    }
+
+    private void awaitStatus(UUID eventId, OutboxEventStatus status) {
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            // Failed events are only picked up by polls; the request stands in for the scheduled one
+            relayer.requestProcessing();
+            assertThat(outboxEventRepository.findById(eventId))
+                    .hasValueSatisfying(event -> assertThat(event.getStatus()).isEqualTo(status));
+        });
+    }
+
+    @TestConfiguration
+    static class RecordingTransportConfiguration {
+
+        @Bean
+        RecordingTransport recordingTransport() {
+            return new RecordingTransport();
+        }
+    }
+
+    /**
+     * Transport acknowledging every event at once, after failing a configurable number of sends.
+     */
+    static class RecordingTransport implements OutboxTransport {
+
+        final List<UUID> sent = new CopyOnWriteArrayList<>();
+        final AtomicInteger failuresLeft = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<String> send(OutboxEventJpaEntity outboxEvent) {
+            if (failuresLeft.getAndUpdate(failures -> Math.max(0, failures - 1)) > 0) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable"));
+            }
+            sent.add(outboxEvent.getId());
+            return CompletableFuture.completedFuture("recording@" + sent.size());
+        }
+
+        void reset() {
+            sent.clear();
+            failuresLeft.set(0);
+        }
+    }
+}
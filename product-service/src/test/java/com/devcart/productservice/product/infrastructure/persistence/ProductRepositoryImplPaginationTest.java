@@ -0,0 +1,267 @@
+package com.devcart.productservice.product.infrastructure.persistence;
+
+import com.devcart.ecommerced.core.application.common.CursorPage;
+import com.devcart.ecommerced.core.application.common.CursorPageRequest;
+import com.devcart.ecommerced.core.application.common.Result;
+import com.devcart.ecommerced.core.domain.shared.Money;
+import com.devcart.productservice.product.domain.Product;
+import com.devcart.productservice.product.domain.valueobject.ProductAttributes;
+import com.devcart.productservice.product.domain.valueobject.ProductDescription;
+import com.devcart.productservice.product.domain.valueobject.ProductImage;
+import com.devcart.productservice.product.domain.valueobject.ProductName;
+import com.devcart.productservice.product.domain.valueobject.ProductSlug;
+import com.devcart.productservice.product.domain.valueobject.ProductTag;
+import com.devcart.productservice.product.domain.valueobject.VariantAttributes;
+import com.devcart.productservice.product.domain.valueobject.VariantName;
+import com.devcart.productservice.product.domain.valueobject.VariantSku;
+import com.devcart.productservice.product.infrastructure.outbox.OutboxEventWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keyset pagination of ProductRepositoryImpl against H2.
+ * Product IDs are small UUIDs, so Java and the database agree on their order.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.devcart.productservice.product.infrastructure.persistence."
+        + "ProductRepositoryImplSaveTest$RecordingStatementInspector")
+class ProductRepositoryImplPaginationTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 14, 9, 26, 53);
+    private static final UUID CATEGORY_ID = new UUID(1L, 0L);
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Autowired
+    private ProductJpaRepository jpaRepository;
+
+    @Autowired
+    private ProductVariantJpaRepository variantJpaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ProductJpaRepository seekingRepository;
+    private ProductRepositoryImpl productRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Delegates to the real repository; tests that delete products between seek and load override the load
+        seekingRepository = Mockito.mock(ProductJpaRepository.class, AdditionalAnswers.delegatesTo(jpaRepository));
+        productRepository = new ProductRepositoryImpl(seekingRepository, variantJpaRepository,
+                Mockito.mock(OutboxEventWriter.class), transactionTemplate);
+        ReflectionTestUtils.setField(productRepository, "maxPageSize", 100);
+    }
+
+    @Test
+    void cursorSurvivesEncodeAndDecode() {
+        ProductPageCursor cursor = new ProductPageCursor(CREATED_AT.withNano(123_456_000), id(42));
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(ProductPageCursor.decode(encoded)).isEqualTo(cursor);
+        assertThat(ProductPageCursor.decode(null)).isEqualTo(ProductPageCursor.FIRST);
+    }
+
+    @Test
+    void rejectsCursorsItDidNotProduce() {
+        String notACursor = Base64.getUrlEncoder().encodeToString("garbage".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> ProductPageCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductPageCursor.decode(notACursor))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Result<CursorPage<Product>> result = productRepository.findAllActive(CursorPageRequest.after(notACursor, 10));
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.getError()).contains("Invalid page cursor");
+    }
+
+    @Test
+    void ordersProductsCreatedAtTheSameTimeById() {
+        for (int i = 1; i <= 5; i++) {
+            persist(i, CREATED_AT);
+        }
+        persist(6, CREATED_AT.minusSeconds(1));
+        persist(7, CREATED_AT.plusSeconds(1));
+
+        List<UUID> listed = new ArrayList<>();
+        List<CursorPage<Product>> pages = readAllActive(2);
+        pages.forEach(page -> page.items().forEach(product -> listed.add(product.getId())));
+
+        assertThat(listed).containsExactly(id(7), id(5), id(4), id(3), id(2), id(1), id(6));
+        assertThat(pages).hasSize(4);
+        assertThat(pages.getLast().hasNext()).isFalse();
+    }
+
+    @Test
+    void capsThePageSize() {
+        ReflectionTestUtils.setField(productRepository, "maxPageSize", 3);
+        for (int i = 1; i <= 5; i++) {
+            persist(i, CREATED_AT);
+        }
+
+        CursorPage<Product> page = productRepository.findAllActive(CursorPageRequest.first(50)).getOrThrow();
+
+        assertThat(page.items()).extracting(Product::getId).containsExactly(id(5), id(4), id(3));
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void keepsPagingWhenTheLastSeekedProductVanishesBeforeTheLoad() {
+        for (int i = 1; i <= 4; i++) {
+            persist(i, CREATED_AT);
+        }
+        deleteBeforeFirstLoad(id(3));
+
+        CursorPage<Product> first = productRepository.findAllActive(CursorPageRequest.first(2)).getOrThrow();
+        assertThat(first.items()).extracting(Product::getId).containsExactly(id(4));
+        assertThat(first.hasNext()).isTrue();
+
+        CursorPage<Product> second = productRepository.findAllActive(
+                CursorPageRequest.after(first.nextCursor(), 2)).getOrThrow();
+        assertThat(second.items()).extracting(Product::getId).containsExactly(id(2), id(1));
+    }
+
+    @Test
+    void detectsTheLastPageWhenProductsVanishBeforeTheLoad() {
+        for (int i = 1; i <= 3; i++) {
+            persist(i, CREATED_AT);
+        }
+
+        // The seek of the second page finds id(1) alone, which then vanishes: a short seek ends the listing
+        CursorPage<Product> first = productRepository.findAllActive(CursorPageRequest.first(2)).getOrThrow();
+        deleteBeforeFirstLoad(id(1));
+        CursorPage<Product> second = productRepository.findAllActive(
+                CursorPageRequest.after(first.nextCursor(), 2)).getOrThrow();
+
+        assertThat(second.items()).isEmpty();
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void seeksAgainWhenAWholePageVanishesBeforeTheLoad() {
+        for (int i = 1; i <= 3; i++) {
+            persist(i, CREATED_AT);
+        }
+        deleteBeforeFirstLoad(id(3), id(2));
+
+        CursorPage<Product> page = productRepository.findAllActive(CursorPageRequest.first(2)).getOrThrow();
+
+        assertThat(page.items()).extracting(Product::getId).containsExactly(id(1));
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void loadsAPageInAFixedNumberOfQueries() {
+        ReflectionTestUtils.setField(productRepository, "maxPageSize", 500);
+        for (int i = 1; i <= 500; i++) {
+            entityManager.persist(ProductJpaEntity.fromDomain(productWithDetails(i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        long smallPageQueries = countQueries(() -> productRepository.findAllActive(CursorPageRequest.first(5)));
+        long fullPageQueries = countQueries(() -> {
+            CursorPage<Product> page = productRepository.findAllActive(CursorPageRequest.first(500)).getOrThrow();
+            assertThat(page.items()).hasSize(500).allSatisfy(product -> {
+                assertThat(product.getVariants()).hasSize(2)
+                        .allSatisfy(variant -> assertThat(variant.getAttributes().getAttributes()).hasSize(1));
+                assertThat(product.getTags()).hasSize(2);
+                assertThat(product.getImages()).hasSize(1);
+                assertThat(product.getAttributes().getAttributes()).hasSize(1);
+                assertThat(product.getCategoryIds()).containsExactly(CATEGORY_ID);
+            });
+        });
+
+        // The ID seek, the product load, and one subselect per collection: attributes, categories, tags, images,
+        // variants and variant attributes
+        assertThat(fullPageQueries).isEqualTo(smallPageQueries).isEqualTo(8);
+    }
+
+    /**
+     * Counts the queries run by an action on a cleared persistence context.
+     */
+    private long countQueries(Runnable action) {
+        entityManager.clear();
+        ProductRepositoryImplSaveTest.RecordingStatementInspector.clear();
+        action.run();
+        return ProductRepositoryImplSaveTest.RecordingStatementInspector.count("select ");
+    }
+
+    private List<CursorPage<Product>> readAllActive(int pageSize) {
+        List<CursorPage<Product>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Product> page = productRepository.findAllActive(
+                    new CursorPageRequest(cursor, pageSize)).getOrThrow();
+            pages.add(page);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    /**
+     * Deletes the given products right after the next seek, before its products are loaded.
+     */
+    private void deleteBeforeFirstLoad(UUID... ids) {
+        AtomicBoolean deleted = new AtomicBoolean();
+        Mockito.doAnswer(invocation -> {
+            if (!deleted.getAndSet(true)) {
+                jpaRepository.deleteAllById(List.of(ids));
+            }
+            return jpaRepository.findAllByIdIn(invocation.getArgument(0));
+        }).when(seekingRepository).findAllByIdIn(Mockito.anyList());
+    }
+
+    private void persist(int id, LocalDateTime createdAt) {
+        Product product = new Product(id(id), ProductName.of("Product " + id), ProductDescription.of("Description"),
+                ProductSlug.of("product-" + id), ProductAttributes.empty(), Set.of(CATEGORY_ID), Set.of(), List.of(),
+                List.of(), true, createdAt, createdAt);
+        entityManager.persist(ProductJpaEntity.fromDomain(product));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static Product productWithDetails(int id) {
+        Product product = new Product(id(id), ProductName.of("Product " + id), ProductDescription.of("Description"),
+                ProductSlug.of("product-" + id), ProductAttributes.of(Map.of("brand", "DevCart")),
+                Set.of(CATEGORY_ID), Set.of(ProductTag.of("running"), ProductTag.of("trail")),
+                List.of(ProductImage.createPrimary("https://img.devcart.test/product-" + id + ".jpg", "Product")),
+                List.of(), true, CREATED_AT, CREATED_AT);
+        for (String size : List.of("42", "43")) {
+            product.addVariant(VariantName.of("Size " + size), VariantSku.of("P" + id + "-" + size),
+                    VariantAttributes.of(Map.of("size", size)), new Money(new BigDecimal("79.99"), USD));
+        }
+        return product;
+    }
+
+    private static UUID id(int value) {
+        return new UUID(0L, value);
+    }
+}
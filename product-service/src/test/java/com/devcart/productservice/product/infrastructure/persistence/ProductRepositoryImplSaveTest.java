@@ -0,0 +1,264 @@
+package com.devcart.productservice.product.infrastructure.persistence;
+
+import com.devcart.ecommerced.core.domain.shared.Money;
+import com.devcart.productservice.product.domain.Product;
+import com.devcart.productservice.product.domain.ProductVariant;
+import com.devcart.productservice.product.domain.valueobject.ProductAttributes;
+import com.devcart.productservice.product.domain.valueobject.ProductDescription;
+import com.devcart.productservice.product.domain.valueobject.ProductImage;
+import com.devcart.productservice.product.domain.valueobject.ProductName;
+import com.devcart.productservice.product.domain.valueobject.ProductSlug;
+import com.devcart.productservice.product.domain.valueobject.ProductTag;
+import com.devcart.productservice.product.domain.valueobject.ProductVariantId;
+import com.devcart.productservice.product.domain.valueobject.VariantAttributes;
+import com.devcart.productservice.product.domain.valueobject.VariantName;
+import com.devcart.productservice.product.domain.valueobject.VariantSku;
+import com.devcart.productservice.product.infrastructure.outbox.OutboxEventWriter;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements ProductRepositoryImpl writes when saving a product, counted against H2.
+ * JDBC batching is disabled, so every written row is one statement.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.devcart.productservice.product.infrastructure.persistence."
+                + "ProductRepositoryImplSaveTest$RecordingStatementInspector",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=1"
+})
+class ProductRepositoryImplSaveTest {
+
+    private static final UUID SHOES = new UUID(0L, 1);
+    private static final UUID SALE = new UUID(0L, 2);
+    private static final UUID OUTDOOR = new UUID(0L, 3);
+
+    @Autowired
+    private ProductJpaRepository jpaRepository;
+
+    @Autowired
+    private ProductVariantJpaRepository variantJpaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ProductRepositoryImpl productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new ProductRepositoryImpl(jpaRepository, variantJpaRepository,
+                Mockito.mock(OutboxEventWriter.class), transactionTemplate);
+    }
+
+    @Test
+    void insertsANewProductWithoutSelectingItFirst() {
+        Product product = newProduct();
+        RecordingStatementInspector.clear();
+
+        productRepository.save(product).getOrThrow();
+        entityManager.flush();
+
+        // The only query is the lookup of the product in save; its ID is assigned, so it is not merged
+        assertThat(RecordingStatementInspector.count("select ")).isOne();
+        assertThat(RecordingStatementInspector.count("insert into products ")).isOne();
+        assertThat(RecordingStatementInspector.count("insert into product_variants ")).isEqualTo(2);
+        assertThat(RecordingStatementInspector.count("insert into product_images ")).isEqualTo(2);
+        assertThat(RecordingStatementInspector.count("update ")).isZero();
+        assertThat(RecordingStatementInspector.count("delete ")).isZero();
+    }
+
+    @Test
+    void writesOneSmallUpdateForASingleFieldChange() {
+        Product product = load(saveNewProduct());
+
+        product.updateBasicInfo(ProductName.of("Trail Runner 2"), product.getDescription(), product.getSlug(),
+                product.getAttributes());
+        save(product);
+
+        List<String> writes = RecordingStatementInspector.writes();
+        assertThat(writes).hasSize(1);
+        assertThat(writes.getFirst())
+                .startsWith("update products set ")
+                .contains("name=", "updated_at=")
+                .doesNotContain("description", "slug", "active", "created_at");
+    }
+
+    @Test
+    void addsRemovesAndUpdatesVariantsInOneSave() {
+        Product product = load(saveNewProduct());
+        ProductVariant kept = product.findVariantBySku(VariantSku.of("TR-42")).orElseThrow();
+        ProductVariant removed = product.findVariantBySku(VariantSku.of("TR-43")).orElseThrow();
+
+        product.changeVariantPrice(ProductVariantId.of(kept.getId()), usd("89.99"));
+        product.removeVariant(ProductVariantId.of(removed.getId()));
+        product.addVariant(VariantName.of("Size 44"), VariantSku.of("TR-44"),
+                VariantAttributes.of(Map.of("size", "44")), usd("99.99"));
+        save(product);
+
+        assertThat(RecordingStatementInspector.count("insert into product_variants ")).isOne();
+        assertThat(RecordingStatementInspector.count("insert into product_variant_attributes ")).isOne();
+        assertThat(RecordingStatementInspector.count("delete from product_variants ")).isOne();
+        assertThat(RecordingStatementInspector.statements("update product_variants "))
+                .singleElement(InstanceOfAssertFactories.STRING)
+                .contains("price_amount=", "updated_at=")
+                .doesNotContain("sku", "name=", "active");
+        // The product itself only gets its new update time
+        assertThat(RecordingStatementInspector.statements("update products "))
+                .singleElement(InstanceOfAssertFactories.STRING)
+                .doesNotContain("name=", "description");
+        assertThat(RecordingStatementInspector.writes()).noneMatch(sql -> sql.contains("product_images"));
+        assertThat(load(product.getId()).getVariants())
+                .extracting(variant -> variant.getSku().getValue())
+                .containsExactlyInAnyOrder("TR-42", "TR-44");
+    }
+
+    @Test
+    void replacesImagesOnlyWhenTheyChange() {
+        Product product = load(saveNewProduct());
+
+        product.addTag(ProductTag.of("waterproof"));
+        save(product);
+        assertThat(RecordingStatementInspector.writes()).noneMatch(sql -> sql.contains("product_images"));
+
+        product = load(product.getId());
+        product.updateImages(List.of(
+                ProductImage.createPrimary("https://img.devcart.test/trail-runner-new.jpg", "Trail Runner"),
+                ProductImage.createSecondary("https://img.devcart.test/trail-runner-side.jpg", "Side", 1),
+                ProductImage.createSecondary("https://img.devcart.test/trail-runner-sole.jpg", "Sole", 2)));
+        save(product);
+
+        assertThat(RecordingStatementInspector.count("delete from product_images ")).isEqualTo(2);
+        assertThat(RecordingStatementInspector.count("insert into product_images ")).isEqualTo(3);
+    }
+
+    @Test
+    void writesOnlyTheChangedTagCategoryAndAttributeRows() {
+        Product product = load(saveNewProduct());
+
+        product.removeTag(ProductTag.of("running"));
+        product.addTag(ProductTag.of("waterproof"));
+        product.removeCategory(SALE);
+        product.addCategory(OUTDOOR);
+        product.updateBasicInfo(product.getName(), product.getDescription(), product.getSlug(),
+                ProductAttributes.of(Map.of("brand", "DevCart", "color", "blue", "material", "mesh")));
+        save(product);
+
+        assertThat(RecordingStatementInspector.count("delete from product_tags ")).isOne();
+        assertThat(RecordingStatementInspector.count("insert into product_tags ")).isOne();
+        assertThat(RecordingStatementInspector.count("delete from product_categories ")).isOne();
+        assertThat(RecordingStatementInspector.count("insert into product_categories ")).isOne();
+        // color changed, gender was removed and material added; brand is untouched
+        assertThat(RecordingStatementInspector.count("update product_attributes ")).isOne();
+        assertThat(RecordingStatementInspector.count("delete from product_attributes ")).isOne();
+        assertThat(RecordingStatementInspector.count("insert into product_attributes ")).isOne();
+        assertThat(RecordingStatementInspector.count("update products ")).isOne();
+        assertThat(RecordingStatementInspector.writes()).hasSize(8);
+
+        Product reloaded = load(product.getId());
+        assertThat(reloaded.getTags()).extracting(ProductTag::getValue)
+                .containsExactlyInAnyOrder("trail", "waterproof");
+        assertThat(reloaded.getCategoryIds()).containsExactlyInAnyOrder(SHOES, OUTDOOR);
+        assertThat(reloaded.getAttributes().getAttributes())
+                .containsExactlyInAnyOrderEntriesOf(Map.of("brand", "DevCart", "color", "blue", "material", "mesh"));
+    }
+
+    /**
+     * Saves a product with two variants, two images, tags, categories and attributes, and detaches it.
+     */
+    private UUID saveNewProduct() {
+        Product product = newProduct();
+        productRepository.save(product).getOrThrow();
+        entityManager.flush();
+        entityManager.clear();
+        return product.getId();
+    }
+
+    private Product newProduct() {
+        Product product = new Product(ProductName.of("Trail Runner"), ProductDescription.of("Running shoe"),
+                ProductSlug.of("trail-runner"),
+                ProductAttributes.of(Map.of("brand", "DevCart", "color", "red", "gender", "unisex")),
+                Set.of(SHOES, SALE));
+        product.addTag(ProductTag.of("running"));
+        product.addTag(ProductTag.of("trail"));
+        product.addImage(ProductImage.createPrimary("https://img.devcart.test/trail-runner.jpg", "Trail Runner"));
+        product.addImage(ProductImage.createSecondary("https://img.devcart.test/trail-runner-side.jpg", "Side", 1));
+        product.addVariant(VariantName.of("Size 42"), VariantSku.of("TR-42"),
+                VariantAttributes.of(Map.of("size", "42")), usd("79.99"));
+        product.addVariant(VariantName.of("Size 43"), VariantSku.of("TR-43"),
+                VariantAttributes.of(Map.of("size", "43")), usd("79.99"));
+        return product;
+    }
+
+    private Product load(UUID productId) {
+        entityManager.clear();
+        return productRepository.findById(productId).getOrThrow().orElseThrow();
+    }
+
+    /**
+     * Saves and flushes the product, recording only the statements of this save.
+     */
+    private void save(Product product) {
+        RecordingStatementInspector.clear();
+        productRepository.save(product).getOrThrow();
+        entityManager.flush();
+    }
+
+    private static Money usd(String amount) {
+        return new Money(new BigDecimal(amount), Currency.getInstance("USD"));
+    }
+
+    /**
+     * Records the SQL Hibernate prepares, lower-cased.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static List<String> statements(String prefix) {
+            return STATEMENTS.stream().filter(sql -> sql.startsWith(prefix)).toList();
+        }
+
+        static long count(String prefix) {
+            return statements(prefix).size();
+        }
+
+        static List<String> writes() {
+            return STATEMENTS.stream().filter(RecordingStatementInspector::isWrite).toList();
+        }
+
+        private static boolean isWrite(String sql) {
+            return sql.startsWith("insert ") || sql.startsWith("update ") || sql.startsWith("delete ");
+        }
+    }
+}
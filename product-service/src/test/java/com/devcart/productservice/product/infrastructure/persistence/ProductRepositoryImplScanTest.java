@@ -0,0 +1,127 @@
+package com.devcart.productservice.product.infrastructure.persistence;
+
+import com.devcart.ecommerced.core.application.common.Result;
+import com.devcart.productservice.product.domain.Product;
+import com.devcart.productservice.product.domain.valueobject.ProductAttributes;
+import com.devcart.productservice.product.domain.valueobject.ProductDescription;
+import com.devcart.productservice.product.domain.valueobject.ProductName;
+import com.devcart.productservice.product.domain.valueobject.ProductSlug;
+import com.devcart.productservice.product.infrastructure.outbox.OutboxEventWriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Chunked scans of ProductRepositoryImpl against H2.
+ * Each chunk runs in its own transaction, so the fixtures are committed instead of written in a test transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryImplScanTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 14, 9, 26, 53);
+    private static final UUID CATEGORY_ID = new UUID(1L, 0L);
+
+    @Autowired
+    private ProductJpaRepository jpaRepository;
+
+    @Autowired
+    private ProductVariantJpaRepository variantJpaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProductRepositoryImpl productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new ProductRepositoryImpl(jpaRepository, variantJpaRepository,
+                Mockito.mock(OutboxEventWriter.class), transactionTemplate);
+        ReflectionTestUtils.setField(productRepository, "scanChunkSize", 3);
+
+        // Products 1 to 7, every third one inactive
+        jpaRepository.saveAll(IntStream.rangeClosed(1, 7)
+                .mapToObj(i -> ProductJpaEntity.fromDomain(product(i, i % 3 != 0)))
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+    }
+
+    @Test
+    void walksEveryChunkInOrder() {
+        List<UUID> scanned = new ArrayList<>();
+        Set<Object> chunkTransactions = new HashSet<>();
+
+        Result<Long> result = productRepository.scanAll(product -> {
+            assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+            chunkTransactions.add(TransactionSynchronizationManager.getResource(entityManagerFactory));
+            scanned.add(product.getId());
+        });
+
+        assertThat(result.getOrThrow()).isEqualTo(7);
+        assertThat(scanned).containsExactly(id(7), id(6), id(5), id(4), id(3), id(2), id(1));
+        assertThat(chunkTransactions).hasSize(3);
+    }
+
+    @Test
+    void walksOnlyActiveProducts() {
+        List<UUID> scanned = new ArrayList<>();
+
+        Result<Long> result = productRepository.scanAllActive(product -> scanned.add(product.getId()));
+
+        assertThat(result.getOrThrow()).isEqualTo(5);
+        assertThat(scanned).containsExactly(id(7), id(5), id(4), id(2), id(1));
+    }
+
+    @Test
+    void reportsAFailingConsumer() {
+        List<UUID> scanned = new ArrayList<>();
+
+        Result<Long> result = productRepository.scanAll(product -> {
+            if (product.getId().equals(id(3))) {
+                throw new IllegalStateException("Index unavailable");
+            }
+            scanned.add(product.getId());
+        });
+
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.getError()).isEqualTo("Failed to scan products: Index unavailable");
+        // Chunks before the failing one were handed over completely
+        assertThat(scanned).containsExactly(id(7), id(6), id(5), id(4));
+    }
+
+    private static Product product(int id, boolean active) {
+        return new Product(id(id), ProductName.of("Product " + id), ProductDescription.of("Description"),
+                ProductSlug.of("product-" + id), ProductAttributes.empty(), Set.of(CATEGORY_ID), Set.of(), List.of(),
+                List.of(), active, CREATED_AT, CREATED_AT);
+    }
+
+    private static UUID id(int value) {
+        return new UUID(0L, value);
+    }
+}